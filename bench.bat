@@ -0,0 +1,30 @@
+@echo off
+echo ----------------------------------------
+echo Benchmarks do Tetris (Windows)
+echo ----------------------------------------
+
+:: Uso: bench.bat [filtro]   (ex: bench.bat ghost)
+set CP_SEP=;
+set DRIVER_JAR=lib\mssql-jdbc-13.2.1.jre11.jar
+
+:: 1. Limpa builds antigos dos benchmarks
+if exist bench-bin ( rmdir /s /q bench-bin )
+mkdir bench-bin
+
+:: 2. Compila o codigo do jogo e dos benchmarks
+echo Compilando codigo-fonte e benchmarks (.java)...
+dir /s /B src\*.java bench\*.java > files.txt
+javac -encoding UTF-8 -d bench-bin -cp "%DRIVER_JAR%" @files.txt
+del files.txt
+
+if %ERRORLEVEL% NEQ 0 (
+    echo ----------------------------------------
+    echo ERRO: Falha na compilacao.
+    echo ----------------------------------------
+    pause
+    exit /b 1
+)
+
+:: 3. Executa os benchmarks
+java -cp "bench-bin%CP_SEP%%DRIVER_JAR%" com.tetris.bench.ModelBenchmarks %*
+java -cp "bench-bin%CP_SEP%%DRIVER_JAR%" com.tetris.bench.PersistenceBenchmarks %*
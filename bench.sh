@@ -0,0 +1,31 @@
+#!/bin/bash
+
+# Compila o jogo + os benchmarks (pasta bench/) e executa o ModelBenchmarks
+# e o PersistenceBenchmarks.
+# Uso: ./bench.sh [filtro]   (ex: ./bench.sh ghost)
+
+CP_SEP=":"
+DRIVER_JAR="lib/mssql-jdbc-13.2.1.jre11.jar"
+
+# 1. Limpa builds antigos dos benchmarks
+echo "Limpando builds antigos (pasta bench-bin/)..."
+rm -rf bench-bin
+mkdir bench-bin
+
+# 2. Compila o código do jogo e dos benchmarks
+echo "Compilando código-fonte e benchmarks (.java)..."
+javac -encoding UTF-8 -d bench-bin -cp "${DRIVER_JAR}" $(find src bench -name "*.java")
+
+if [ $? -ne 0 ]; then
+    echo "----------------------------------------"
+    echo "ERRO: Falha na compilação."
+    echo "----------------------------------------"
+    exit 1
+fi
+
+# 3. Executa os benchmarks
+echo "----------------------------------------"
+echo "Executando benchmarks..."
+echo "----------------------------------------"
+java -cp "bench-bin${CP_SEP}${DRIVER_JAR}" com.tetris.bench.ModelBenchmarks "$@"
+java -cp "bench-bin${CP_SEP}${DRIVER_JAR}" com.tetris.bench.PersistenceBenchmarks "$@"
@@ -0,0 +1,112 @@
+package com.tetris.bench;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Executor mínimo de micro-benchmarks (no estilo do JMH), sem dependências.
+ * Cada benchmark passa por iterações de aquecimento e de medição com duração
+ * fixa; o resultado é reportado em ns/op (média ± desvio padrão) e em bytes
+ * alocados por operação (medidos na própria thread).
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Uma operação medida. Deve executar 'ops' repetições e devolver um valor
+     * derivado do trabalho feito (evita que o JIT elimine o código).
+     */
+    public interface Benchmark {
+        long run(long ops);
+    }
+
+    private final int warmupIterations;
+    private final int measureIterations;
+    private final long iterationNanos;
+    private final String filter;
+
+    // "Blackhole": consome os resultados para que o JIT não descarte o trabalho
+    private static volatile long sink;
+
+    public BenchmarkRunner(int warmupIterations, int measureIterations, long iterationMillis, String filter) {
+        this.warmupIterations = warmupIterations;
+        this.measureIterations = measureIterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+        this.filter = filter;
+    }
+
+    /**
+     * Mede um benchmark (se o nome casar com o filtro) e imprime o resultado.
+     */
+    public void measure(String name, Benchmark benchmark) {
+        if (filter != null && !name.contains(filter)) {
+            return;
+        }
+
+        // Calibra quantas operações cabem em ~1/10 de iteração
+        long batch = 1;
+        while (true) {
+            long start = System.nanoTime();
+            sink += benchmark.run(batch);
+            if (System.nanoTime() - start > iterationNanos / 10 || batch >= (1L << 40)) break;
+            batch *= 2;
+        }
+
+        for (int i = 0; i < warmupIterations; i++) {
+            runIteration(benchmark, batch);
+        }
+
+        List<double[]> results = new ArrayList<>();
+        for (int i = 0; i < measureIterations; i++) {
+            results.add(runIteration(benchmark, batch));
+        }
+
+        double mean = 0, allocMean = 0;
+        for (double[] r : results) {
+            mean += r[0];
+            allocMean += r[1];
+        }
+        mean /= results.size();
+        allocMean /= results.size();
+
+        double variance = 0;
+        for (double[] r : results) {
+            variance += (r[0] - mean) * (r[0] - mean);
+        }
+        double stdDev = Math.sqrt(variance / Math.max(1, results.size() - 1));
+
+        System.out.println(String.format(Locale.ROOT, "%-40s %12.2f ± %8.2f ns/op %10.1f B/op",
+                                         name, mean, stdDev, allocMean));
+    }
+
+    /**
+     * Executa lotes até completar a duração da iteração.
+     * @return {ns por operação, bytes alocados por operação}
+     */
+    private double[] runIteration(Benchmark benchmark, long batch) {
+        long ops = 0;
+        long allocBefore = threadAllocatedBytes();
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            sink += benchmark.run(batch);
+            ops += batch;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < iterationNanos);
+        long allocated = threadAllocatedBytes() - allocBefore;
+
+        return new double[] { (double) elapsed / ops, (double) allocated / ops };
+    }
+
+    /**
+     * Bytes alocados pela thread atual (extensão da HotSpot), ou 0 se indisponível.
+     */
+    private static long threadAllocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+}
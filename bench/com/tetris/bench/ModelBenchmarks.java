@@ -0,0 +1,189 @@
+package com.tetris.bench;
+
+import com.tetris.model.Board;
+import com.tetris.model.GameEngine;
+import com.tetris.model.Piece;
+import com.tetris.model.Shape;
+
+import java.util.Random;
+
+/**
+ * Micro-benchmarks das operações quentes do modelo: movimento e rotação
+ * da peça, cálculo da peça fantasma, limpeza de linhas, aplicação de lixo,
+ * geração de peças e um tick completo do GameEngine.
+ *
+ * Os tabuleiros de cenário são montados com uma semente fixa, então os
+ * números são comparáveis entre execuções (antes/depois de uma otimização).
+ *
+ * Uso: bench.sh [filtro]   (ex: "bench.sh ghost" roda só os benchmarks com "ghost" no nome)
+ */
+public class ModelBenchmarks {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURE_ITERATIONS = 10;
+    private static final long ITERATION_MILLIS = 200;
+
+    private static final long SEED = 42L;
+
+    public static void main(String[] args) {
+        String filter = args.length > 0 ? args[0] : null;
+        BenchmarkRunner runner = new BenchmarkRunner(WARMUP_ITERATIONS, MEASURE_ITERATIONS, ITERATION_MILLIS, filter);
+
+        System.out.println("Benchmarks do modelo (" + WARMUP_ITERATIONS + " aquecimento, "
+                           + MEASURE_ITERATIONS + " medições x " + ITERATION_MILLIS + " ms)");
+
+        Piece.setRandomSeed(SEED);
+
+        // --- Movimento e Rotação ---
+
+        Board moveBoard = startedBoard();
+        runner.measure("board.moveLeftRight", ops -> {
+            for (long i = 0; i < ops; i++) {
+                moveBoard.moveLeft();
+                moveBoard.moveRight();
+            }
+            return moveBoard.getCurrentPiece().getX();
+        });
+
+        Board rotateBoard = startedBoard();
+        runner.measure("board.rotateLeftRight", ops -> {
+            for (long i = 0; i < ops; i++) {
+                rotateBoard.rotateLeft();
+                rotateBoard.rotateRight();
+            }
+            return rotateBoard.getCurrentPiece().getRotation();
+        });
+
+        // --- Peça Fantasma ---
+
+        Board ghostBoard = startedBoard();
+        ghostBoard.copyGridFrom(stackFixture(6, 0));
+        runner.measure("board.ghostY (pilha de 6 linhas)", ops -> {
+            long acc = 0;
+            for (long i = 0; i < ops; i++) {
+                acc += ghostBoard.getGhostPieceY();
+            }
+            return acc;
+        });
+
+        Board emptyGhostBoard = startedBoard();
+        runner.measure("board.ghostY (tabuleiro vazio)", ops -> {
+            long acc = 0;
+            for (long i = 0; i < ops; i++) {
+                acc += emptyGhostBoard.getGhostPieceY();
+            }
+            return acc;
+        });
+
+        // --- Limpeza de Linhas ---
+
+        // Restaurar a grade é parte do custo medido; o benchmark "copyGrid"
+        // serve de referência para descontá-lo.
+        Board clearFixture = stackFixture(6, 4);
+        Board clearBoard = startedBoard();
+        runner.measure("board.copyGrid (referência)", ops -> {
+            for (long i = 0; i < ops; i++) {
+                clearBoard.copyGridFrom(clearFixture);
+            }
+            return clearBoard.getScore();
+        });
+        runner.measure("board.dropAndClear4 (+copyGrid)", ops -> {
+            for (long i = 0; i < ops; i++) {
+                clearBoard.copyGridFrom(clearFixture);
+                clearBoard.dropDown();
+                clearBoard.finishLineClear();
+            }
+            return clearBoard.getLinesCleared();
+        });
+
+        // --- Lixo (Garbage) e Geração de Peças ---
+
+        Board garbageFixture = stackFixture(6, 0);
+        Board garbageBoard = startedBoard();
+        runner.measure("board.newPiece (+copyGrid)", ops -> {
+            for (long i = 0; i < ops; i++) {
+                garbageBoard.copyGridFrom(garbageFixture);
+                garbageBoard.newPiece();
+            }
+            return garbageBoard.getTotalPieces();
+        });
+        runner.measure("board.newPiece+garbage2 (+copyGrid)", ops -> {
+            for (long i = 0; i < ops; i++) {
+                garbageBoard.copyGridFrom(garbageFixture);
+                garbageBoard.addIncomingGarbage(2);
+                garbageBoard.newPiece();
+            }
+            return garbageBoard.getTotalPieces();
+        });
+
+        // --- Peça ---
+
+        Piece piece = new Piece();
+        piece.setShape(Shape.Tetrominoe.TShape);
+        runner.measure("piece.rotateLeftRight", ops -> {
+            for (long i = 0; i < ops; i++) {
+                piece.rotateLeft();
+                piece.rotateRight();
+                piece.rotateLeft();
+            }
+            return piece.getRotation();
+        });
+        runner.measure("piece.setRandomShape", ops -> {
+            long acc = 0;
+            for (long i = 0; i < ops; i++) {
+                piece.setRandomShape();
+                acc += piece.getShape().ordinal();
+            }
+            return acc;
+        });
+
+        // --- Motor de Jogo ---
+
+        Board engineBoard1 = new Board();
+        Board engineBoard2 = new Board();
+        GameEngine engine = new GameEngine(engineBoard1, engineBoard2);
+        engine.startRound(true);
+        runner.measure("engine.tick (2P, sem input)", ops -> {
+            for (long i = 0; i < ops; i++) {
+                if (engine.tick()) {
+                    engine.startRound(true);
+                }
+            }
+            return engine.getTickCount();
+        });
+    }
+
+    // --- Cenários ---
+
+    private static Board startedBoard() {
+        Board board = new Board();
+        board.start();
+        return board;
+    }
+
+    /**
+     * Monta uma grade com 'fullRows' linhas completas na base e, acima delas,
+     * 'stackRows' linhas com um ou dois buracos aleatórios cada.
+     */
+    private static Board stackFixture(int stackRows, int fullRows) {
+        Random random = new Random(SEED);
+        Shape.Tetrominoe[] shapes = Shape.Tetrominoe.values();
+        Board board = new Board();
+
+        for (int y = 0; y < fullRows; y++) {
+            for (int x = 0; x < Board.BOARD_WIDTH; x++) {
+                board.setShapeAt(x, y, shapes[1 + random.nextInt(7)]);
+            }
+        }
+        for (int y = fullRows; y < fullRows + stackRows; y++) {
+            int hole1 = random.nextInt(Board.BOARD_WIDTH);
+            int hole2 = random.nextInt(Board.BOARD_WIDTH);
+            for (int x = 0; x < Board.BOARD_WIDTH; x++) {
+                if (x != hole1 && x != hole2) {
+                    board.setShapeAt(x, y, shapes[1 + random.nextInt(7)]);
+                }
+            }
+        }
+        return board;
+    }
+}
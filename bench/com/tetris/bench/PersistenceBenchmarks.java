@@ -0,0 +1,120 @@
+package com.tetris.bench;
+
+import com.tetris.database.InMemoryStorage;
+import com.tetris.database.PersistenceService;
+import com.tetris.database.PlayerProfile;
+import com.tetris.database.PlayerProfileRepository;
+import com.tetris.database.SoloScoreRepository;
+import com.tetris.database.StorageBackend;
+
+import java.util.Random;
+
+/**
+ * Micro-benchmarks da camada de persistência, sem banco de dados: os
+ * repositórios do {@link InMemoryStorage} e as leituras do PersistenceService
+ * (que vêm do armazenamento local) sobre o mesmo cenário.
+ *
+ * O cenário (PROFILES perfis, SCORES_PER_PROFILE pontuações cada) é montado
+ * com uma semente fixa, então os números são comparáveis entre execuções.
+ *
+ * Uso: bench.sh [filtro]   (ex: "bench.sh persistence")
+ */
+public class PersistenceBenchmarks {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURE_ITERATIONS = 10;
+    private static final long ITERATION_MILLIS = 200;
+
+    private static final long SEED = 42L;
+    private static final int PROFILES = 1_000;
+    private static final int SCORES_PER_PROFILE = 5;
+
+    public static void main(String[] args) throws Exception {
+        String filter = args.length > 0 ? args[0] : null;
+        BenchmarkRunner runner = new BenchmarkRunner(WARMUP_ITERATIONS, MEASURE_ITERATIONS, ITERATION_MILLIS, filter);
+
+        System.out.println("Benchmarks de persistência, em memória (" + PROFILES + " perfis, "
+                           + PROFILES * SCORES_PER_PROFILE + " pontuações)");
+
+        StorageBackend storage = populatedStorage();
+        PlayerProfileRepository profiles = storage.profiles();
+        SoloScoreRepository scores = storage.soloScores();
+
+        // --- Repositórios ---
+
+        runner.measure("memory.findUserByUsername", ops -> {
+            long acc = 0;
+            for (long i = 0; i < ops; i++) {
+                acc += profiles.findUserByUsername(username((int) (i % PROFILES))).getUserID();
+            }
+            return acc;
+        });
+
+        runner.measure("memory.updateStats1P", ops -> {
+            for (long i = 0; i < ops; i++) {
+                profiles.updateStats1P(1 + (int) (i % PROFILES), 100);
+            }
+            return ops;
+        });
+
+        runner.measure("memory.getTopSoloScores(10)", ops -> {
+            long acc = 0;
+            for (long i = 0; i < ops; i++) {
+                acc += scores.getTopSoloScores(10).size();
+            }
+            return acc;
+        });
+
+        // --- PersistenceService (leituras do armazenamento local) ---
+
+        PersistenceService persistence = new PersistenceService(storage);
+        // A primeira sincronização copia o cenário para o armazenamento local
+        persistence.getAllPlayerProfiles().get();
+
+        runner.measure("persistence.getTopSoloScores(10)", ops -> {
+            long acc = 0;
+            for (long i = 0; i < ops; i++) {
+                acc += persistence.getTopSoloScores(10).join().size();
+            }
+            return acc;
+        });
+
+        runner.measure("persistence.getAllPlayerProfiles", ops -> {
+            long acc = 0;
+            for (long i = 0; i < ops; i++) {
+                acc += persistence.getAllPlayerProfiles().join().size();
+            }
+            return acc;
+        });
+
+        runner.measure("persistence.searchProfiles(prefix, 5)", ops -> {
+            long acc = 0;
+            for (long i = 0; i < ops; i++) {
+                acc += persistence.searchProfiles(username((int) (i % 100)), 0, 5).join().totalMatches();
+            }
+            return acc;
+        });
+
+        persistence.shutdown();
+    }
+
+    // --- Cenário ---
+
+    private static StorageBackend populatedStorage() {
+        Random random = new Random(SEED);
+        InMemoryStorage storage = new InMemoryStorage();
+        for (int p = 0; p < PROFILES; p++) {
+            PlayerProfile profile = storage.profiles().findOrCreatePlayer(username(p));
+            for (int s = 0; s < SCORES_PER_PROFILE; s++) {
+                int score = 100 + random.nextInt(100_000);
+                storage.soloScores().addScore(profile.getUserID(), score, 1 + score / 10_000, score / 100, random.nextInt(10));
+                storage.profiles().updateStats1P(profile.getUserID(), score);
+            }
+        }
+        return storage;
+    }
+
+    private static String username(int index) {
+        return "PLAYER" + index;
+    }
+}
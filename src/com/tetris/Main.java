@@ -4,7 +4,6 @@ import com.tetris.controller.GameController;
 import com.tetris.model.Board;
 import com.tetris.view.GameFrame;
 import javax.swing.SwingUtilities;
-import com.tetris.database.DatabaseManager;
 
 /**
  * Ponto de entrada principal da aplicação.
@@ -15,19 +14,18 @@ public class Main {
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> {
             
-            // Inicializa a conexão com o banco de dados antes de criar a UI.
-            // Isso garante que a aplicação falhe rapidamente se o banco
-            // estiver inacessível, em vez de falhar após a janela abrir.
-            System.out.println("Main: Inicializando DatabaseManager...");
-            DatabaseManager.getInstance();
-            System.out.println("Main: DatabaseManager inicializado.");
+            // A janela é criada primeiro, sem esperar pelo banco de dados nem
+            // pelo áudio: o GameController inicializa ambos (e os rankings)
+            // em segundo plano, e o menu principal mostra a situação deles.
 
             // Cria os Models (um para cada jogador)
             Board board1 = new Board();
             Board board2 = new Board();
 
-            // Cria a View principal
-            GameFrame gameFrame = new GameFrame();
+            // Cria a View principal (renderização ativa por padrão;
+            // -Dtetris.render=swing força a pintura tradicional do Swing)
+            boolean activeRendering = !"swing".equalsIgnoreCase(System.getProperty("tetris.render", "active"));
+            GameFrame gameFrame = new GameFrame(activeRendering);
 
             // Cria o Controller e conecta os Models e a View
             GameController gameController = new GameController(gameFrame, board1, board2);
@@ -35,6 +33,7 @@ public class Main {
             // Inicia o jogo e exibe a janela
             gameController.start();
             gameFrame.setVisible(true);
+            gameFrame.getInputComponent().requestFocusInWindow();
         });
     }
 }
\ No newline at end of file
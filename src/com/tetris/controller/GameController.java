@@ -1,22 +1,27 @@
 package com.tetris.controller;
 
 import com.tetris.model.Board;
+import com.tetris.model.GameEngine;
 import com.tetris.model.Theme;
+import com.tetris.view.ActiveRenderer;
 import com.tetris.view.GameFrame;
+import com.tetris.view.OverlayPanel;
 import com.tetris.audio.AudioManager;
-import com.tetris.database.PlayerProfileDAO;
-import com.tetris.database.SoloScoreDAO;
-import com.tetris.database.MultiplayerMatchDAO; 
+import com.tetris.database.PersistenceService;
 import com.tetris.database.PlayerProfile;
+import com.tetris.database.ProfilePage;
 import com.tetris.database.SoloScoreEntry;
 import com.tetris.database.PlayerWinsEntry;
 
-import javax.swing.Timer;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
+import javax.swing.RepaintManager;
+import javax.swing.SwingUtilities;
+import java.awt.Component;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.util.List; 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 // --- INÍCIO DAS NOVAS IMPORTAÇÕES PARA INPUT SIMULTÂNEO (DAS/ARR) ---
 import java.util.HashMap;
 import java.util.HashSet;
@@ -26,10 +31,16 @@ import java.util.Set;
 
 /**
  * O Controller (no padrão MVC) principal do jogo.
- * Gerencia o loop de jogo (Timer), a entrada do usuário (KeyAdapter)
+ * Gerencia o loop de jogo (GameLoop), a entrada do usuário (KeyAdapter)
  * e coordena a lógica de negócio (Model) com a exibição (View).
+ * A progressão do jogo em si (gravidade, lixo, fim de rodada) fica no
+ * GameEngine; o GameLoop o avança um passo fixo por vez.
+ *
+ * Concorrência: a lógica roda na thread do GameLoop e a entrada/pintura no
+ * EDT do Swing. Todo acesso ao estado do jogo é feito sincronizado neste
+ * objeto (passos lógicos, eventos de teclado e a renderização).
  */
-public class GameController extends KeyAdapter implements ActionListener {
+public class GameController extends KeyAdapter implements GameLoop.Callbacks {
 
     // Define os modos de jogo disponíveis
     public enum GameMode {
@@ -54,23 +65,41 @@ public class GameController extends KeyAdapter implements ActionListener {
         PROFILE_CREATE        
     }
 
-    // Constantes do loop de jogo
-    private static final int INITIAL_DELAY = 400; // Delay inicial de queda (Nível 1)
-    private static final int GAME_LOOP_DELAY = 33; // ~30 FPS para animações e lógica
-
     // Referências MVC
     private final GameFrame gameFrame;
     private final Board board1; 
     private final Board board2; 
     
     // Componentes de Jogo
-    private final Timer timer;
-    private final AudioManager backgroundMusic;
+    private final GameEngine engine;
+    private final GameLoop gameLoop;
+    // Carregado em segundo plano (null até terminar; ver startAudioLoading)
+    private AudioManager backgroundMusic;
+    private boolean audioLoading = true;
+
+    // Renderização ativa (Canvas + BufferStrategy); null = renderização Swing pelo EDT
+    private final ActiveRenderer activeRenderer;
+
+    // Renderização Swing: pedidos coalescidos em um único evento pendente no EDT
+    private final AtomicBoolean renderPending = new AtomicBoolean(false);
+    private volatile double renderAlpha = 0;
+
+    // Evita salvar o resultado da rodada mais de uma vez (o loop continua rodando)
+    private boolean roundOverHandled = false;
+
+    // --- Renderização Só Quando Algo Muda ---
+    // Incrementado a cada mudança do estado de menus/sessão deste Controller
+    // (tela, seleções, tema, perfis, rankings...). Junto com Board.getStateVersion()
+    // indica se há algo novo a desenhar desde o último quadro.
+    private int viewStateVersion = 0;
+    // O que o último quadro enviado à View mostrou
+    private int renderedViewStateVersion = -1;
+    private int renderedBoard1Version = -1;
+    private int renderedBoard2Version = -1;
+    private long renderedBlinkPhase = -1;
 
-    // Acesso ao Banco de Dados (DAO)
-    private final PlayerProfileDAO profileDAO;
-    private final SoloScoreDAO soloScoreDAO;
-    private final MultiplayerMatchDAO multiplayerMatchDAO; 
+    // Acesso ao Banco de Dados (assíncrono, fora do EDT e do loop de jogo)
+    private final PersistenceService persistence;
     
     // --- INÍCIO DAS MUDANÇAS PARA INPUT SIMULTÂNEO (DAS/ARR) ---
     /**
@@ -79,7 +108,7 @@ public class GameController extends KeyAdapter implements ActionListener {
      */
     private final Set<Integer> pressedKeys = new HashSet<>();
     /**
-     * Mapa para rastrear o tempo do primeiro "press" de uma tecla (para o DAS).
+     * Mapa para rastrear o tempo (System.nanoTime) do primeiro "press" de uma tecla (para o DAS).
      */
     private final Map<Integer, Long> keyFirstPressTime = new HashMap<>();
     /**
@@ -88,13 +117,13 @@ public class GameController extends KeyAdapter implements ActionListener {
     private final Map<Integer, Long> keyLastRepeatTime = new HashMap<>();
     
     /**
-     * Define o atraso (em ms) antes que o auto-repeat comece (Delayed Auto Shift).
+     * Define o atraso (em ns) antes que o auto-repeat comece (Delayed Auto Shift).
      */
-    private static final long INPUT_DAS_DELAY = 160; 
+    private static final long INPUT_DAS_DELAY = 160_000_000L; 
     /**
-     * Define a velocidade (em ms) do auto-repeat (Auto Repeat Rate).
+     * Define a velocidade (em ns) do auto-repeat (Auto Repeat Rate).
      */
-    private static final long INPUT_ARR_RATE = 50;  
+    private static final long INPUT_ARR_RATE = 50_000_000L;  
     // --- FIM DAS MUDANÇAS ---
     
     // Estado de Sessão e Perfis
@@ -102,9 +131,11 @@ public class GameController extends KeyAdapter implements ActionListener {
     private PlayerProfile currentUser2 = null;  // Perfil do Jogador 2
     private List<SoloScoreEntry> topSoloScores; 
     private List<PlayerWinsEntry> top2PWins;    
-    private List<PlayerProfile> allProfiles; 
+    private ProfilePage profilePage; // Perfis visíveis na tela de seleção (null = carregando)
+    private String profileFilter = ""; // Início do nome digitado na tela de seleção
     private String playerNameInput = ""; 
     private String profileErrorMessage = null; 
+    private boolean profileCreatePending = false; // Criação de perfil aguardando o banco
     
     // Estado de UI
     private int currentThemeIndex = 0;
@@ -119,14 +150,11 @@ public class GameController extends KeyAdapter implements ActionListener {
     private int rankingModeSelection = 0; 
     private final int RANKING_MODE_OPTIONS = 2; 
     private int profileListSelection = 0; 
+    private int profileListOffset = 0; // Primeiro perfil visível na lista
     private int gameOverSelection = 0; 
     private final int GAMEOVER_MENU_OPTIONS = 2;
     private int pauseMenuSelection = 0; 
     private final int PAUSE_MENU_OPTIONS = 4;
-    
-    // Timers de lógica de queda
-    private long lastPieceMoveTime1;
-    private long lastPieceMoveTime2;
 
 
     public GameController(GameFrame gameFrame, Board board1, Board board2) {
@@ -134,117 +162,127 @@ public class GameController extends KeyAdapter implements ActionListener {
         this.board1 = board1;
         this.board2 = board2;
         
-        this.timer = new Timer(GAME_LOOP_DELAY, this);
+        int logicHz = GameLoop.configuredLogicHz();
+        this.engine = new GameEngine(board1, board2, logicHz);
+        this.gameLoop = new GameLoop(this, logicHz, GameLoop.configuredRenderHz());
+
+        if (gameFrame.isActiveRendering()) {
+            this.activeRenderer = new ActiveRenderer(gameFrame, this, this::updateView);
+            gameFrame.setExposeListener(this::requestRender);
+        } else {
+            this.activeRenderer = null;
+        }
         
-        this.gameFrame.getGamePanel().addKeyListener(this);
-        this.gameFrame.getGamePanel().setFocusable(true);
+        Component inputComponent = this.gameFrame.getInputComponent();
+        inputComponent.addKeyListener(this);
+        inputComponent.setFocusable(true);
 
-        System.out.println("GameController: Tentando inicializar o AudioManager...");
-        this.backgroundMusic = new AudioManager("/com/tetris/audio/background-music.wav");
+        // Banco, áudio e rankings são inicializados em paralelo, em segundo
+        // plano: a janela e o menu aparecem sem esperar por eles
+        startAudioLoading();
         
-        this.profileDAO = new PlayerProfileDAO();
-        this.soloScoreDAO = new SoloScoreDAO();
-        this.multiplayerMatchDAO = new MultiplayerMatchDAO();
+        this.persistence = new PersistenceService();
+        // O menu mostra a situação do banco
+        this.persistence.setStatusListener(status ->
+            onDatabaseResult(CompletableFuture.completedFuture(status), s -> {}));
+        // Perfis como ficaram no banco depois de cada partida 2P gravada
+        this.persistence.setMatchOutcomeListener(outcome ->
+            onDatabaseResult(CompletableFuture.completedFuture(outcome), result -> {
+                applyRefreshedProfile(result.winner());
+                applyRefreshedProfile(result.loser());
+            }));
     }
 
     /**
-     * Inicia o timer principal do jogo.
+     * Decodifica a música de fundo em uma thread própria. Quando termina, a
+     * música começa se uma partida já estiver em andamento.
+     */
+    private void startAudioLoading() {
+        Thread loader = new Thread(() -> {
+            System.out.println("GameController: Tentando inicializar o AudioManager...");
+            AudioManager music = new AudioManager("/com/tetris/audio/background-music.wav");
+            synchronized (this) {
+                backgroundMusic = music;
+                audioLoading = false;
+                if (isGameRunning() && !engine.isRoundFinished()) {
+                    music.playMusic();
+                }
+                viewStateVersion++;
+            }
+            requestRender();
+        }, "tetris-audio-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Texto de situação do menu principal (inicialização em segundo plano).
+     */
+    private String startupStatusMessage() {
+        String database;
+        switch (persistence.getStatus()) {
+            case CONNECTING:       database = "Conectando ao banco de dados..."; break;
+            case SYNCING:          database = "Sincronizando com o banco de dados..."; break;
+            case OFFLINE:          database = "Banco de dados offline (usando dados locais)"; break;
+            default:               database = null; break;
+        }
+        String audio = audioLoading ? "Carregando música..." : null;
+        if (database != null && audio != null) return database + "  |  " + audio;
+        return (database != null) ? database : audio;
+    }
+
+    /**
+     * Inicia o loop principal do jogo.
      */
     public void start() {
-        long startTime = System.currentTimeMillis();
-        lastPieceMoveTime1 = startTime; 
-        lastPieceMoveTime2 = startTime; 
-        timer.start();
-        updateView(); 
+        synchronized (this) {
+            engine.resetGravityTimers();
+        }
+        if (activeRenderer != null) {
+            activeRenderer.start();
+        }
+        gameLoop.start();
+        requestRender(); 
     }
 
     /**
-     * O loop principal do jogo, chamado pelo Timer.
+     * Um passo lógico de duração fixa, chamado pela thread do GameLoop.
      */
     @Override
-    public void actionPerformed(ActionEvent e) {
-        
-        boolean isGameRunning = board1.isStarted() &&
-                                currentScreen != GameScreen.PAUSED_MAIN &&
-                                currentScreen != GameScreen.PAUSED_CONTROLS &&
-                                currentScreen != GameScreen.PAUSED_RULES &&
-                                currentScreen != GameScreen.PROFILE_SELECTION &&
-                                currentScreen != GameScreen.PROFILE_SELECTION_P2 &&
-                                currentScreen != GameScreen.PROFILE_CREATE; 
-                                
-        if (isGameRunning) {
+    public synchronized void update() {
+        if (isGameRunning()) {
             
             // --- LÓGICA DE AUTO-REPEAT (DAS/ARR) ---
-            processAutoRepeatInputs();
-            
-            // --- Lógica de Jogo Principal (Gravidade) ---
-            long currentTime = System.currentTimeMillis();
-            
-            // Lógica P1
-            long delay1 = getDelayForLevel(board1);
-            handlePlayerLogic(board1, currentTime, lastPieceMoveTime1, delay1);
-            if (currentTime - lastPieceMoveTime1 > delay1) {
-                lastPieceMoveTime1 = currentTime;
-            }
-            
-            // Lógica P2 (se aplicável)
-            if (currentGameMode == GameMode.TWO_PLAYER) {
-                long delay2 = getDelayForLevel(board2);
-                handlePlayerLogic(board2, currentTime, lastPieceMoveTime2, delay2);
-                if (currentTime - lastPieceMoveTime2 > delay2) {
-                    lastPieceMoveTime2 = currentTime;
-                }
-            }
-            
-            // --- Lógica de Lixo (Garbage) ---
-            if (currentGameMode == GameMode.TWO_PLAYER) {
-                int p1_garbage = board1.getOutgoingGarbage();
-                int p2_garbage = board2.getOutgoingGarbage();
-
-                if (p1_garbage > 0 && p2_garbage > 0) { 
-                    if (p1_garbage > p2_garbage) {
-                        board2.addIncomingGarbage(p1_garbage - p2_garbage); // P1 ataca P2
-                    } else if (p2_garbage > p1_garbage) {
-                        board1.addIncomingGarbage(p2_garbage - p1_garbage); // P2 ataca P1
-                    }
-                    board1.clearOutgoingGarbage();
-                    board2.clearOutgoingGarbage();
-                
-                } else if (p1_garbage > 0) { 
-                    board2.addIncomingGarbage(p1_garbage);
-                    board1.clearOutgoingGarbage();
-                
-                } else if (p2_garbage > 0) { 
-                    board1.addIncomingGarbage(p2_garbage);
-                    board2.clearOutgoingGarbage();
-                }
+            // (Na tela de Game Over o loop continua, mas as peças não se movem mais)
+            if (!engine.isRoundFinished()) {
+                processAutoRepeatInputs();
             }
             
-            // --- Detecção de Fim de Jogo ---
-            boolean p1_over = board1.isGameOver();
-            boolean p2_over = (currentGameMode == GameMode.TWO_PLAYER) && board2.isGameOver();
-            boolean round_is_finished = (currentGameMode == GameMode.ONE_PLAYER) ? p1_over : (p1_over || p2_over);
+            // --- Lógica de Jogo Principal (Gravidade, Lixo e Fim de Jogo) ---
+            updateSoftDropState();
+            boolean round_is_finished = engine.tick();
 
             if (round_is_finished) {
-                if (timer.isRunning()) { 
-                    timer.stop();
+                boolean p1_over = engine.isPlayerOneOver();
+                boolean p2_over = engine.isPlayerTwoOver();
+
+                if (!roundOverHandled) { 
+                    roundOverHandled = true;
                     if (backgroundMusic != null) backgroundMusic.stopMusic();
                     
                     // Salva estatísticas 1P
                     if (currentGameMode == GameMode.ONE_PLAYER && p1_over) {
                         if (currentUser != null && board1.getScore() > 0) {
-                            soloScoreDAO.addScore(
-                                currentUser.getUserID(), 
+                            // O banco é atualizado em lote; o perfil em memória já reflete
+                            // o resultado (novo high score) sem precisar relê-lo
+                            currentUser.recordSoloGame(board1.getScore());
+                            persistence.saveSoloResult(
+                                currentUser, 
                                 board1.getScore(),
                                 board1.getLevel(),
                                 board1.getLinesCleared(),
                                 board1.getTetrisCount()
                             );
-                            profileDAO.updateStats1P(currentUser.getUserID(), board1.getScore());
-                            if (board1.getScore() > currentUser.getHighScore1P()) {
-                                fetchAllProfiles(); 
-                                currentUser = profileDAO.findUserByUsername(currentUser.getUsername());
-                            }
                         }
                     // Salva estatísticas 2P
                     } else if (currentGameMode == GameMode.TWO_PLAYER) {
@@ -265,49 +303,110 @@ public class GameController extends KeyAdapter implements ActionListener {
                             }
                             
                             if (winner != null && loser != null) {
-                                // Salva no BD (apenas 1x por round)
-                                profileDAO.updateStats2P(winner.getUserID(), loser.getUserID());
-                                multiplayerMatchDAO.recordMatch(
-                                    winner.getUserID(), loser.getUserID(), 
-                                    winnerScore, loserScore
-                                );
+                                // Salva no BD (apenas 1x por round, em segundo plano)
+                                winner.recordMatch(true);
+                                loser.recordMatch(false);
+                                persistence.saveMatchResult(winner, loser, winnerScore, loserScore);
                             }
                          }
                     }
                     gameOverSelection = 0; 
+                    viewStateVersion++;
                 }
             }
         }
-        updateView();
     }
 
     /**
-     * Gerencia a lógica de queda de peça (gravidade) e animações de limpeza.
+     * true se a partida está em andamento (não está em menus nem pausada).
      */
-    private void handlePlayerLogic(Board board, long currentTime, long lastMoveTime, long delay) {
-        if (board.isGameOver()) return; 
-        
-        if (board.isAnimatingLineClear()) {
-            board.decrementLineClearTimer();
-            if (board.getLineClearTimer() <= 0) {
-                board.finishLineClear(); 
-                if (!board.isGameOver()) board.newPiece(); 
-            }
-            return; 
+    private boolean isGameRunning() {
+        return board1.isStarted() &&
+               currentScreen != GameScreen.PAUSED_MAIN &&
+               currentScreen != GameScreen.PAUSED_CONTROLS &&
+               currentScreen != GameScreen.PAUSED_RULES &&
+               currentScreen != GameScreen.PROFILE_SELECTION &&
+               currentScreen != GameScreen.PROFILE_SELECTION_P2 &&
+               currentScreen != GameScreen.PROFILE_CREATE;
+    }
+
+    /**
+     * Chamado pela thread do GameLoop no ritmo de renderização. Só pede um
+     * quadro se algo visível mudou; em menus parados nada é redesenhado.
+     */
+    @Override
+    public void render(double alpha) {
+        renderAlpha = alpha;
+        if (hasViewChanges()) {
+            requestRender();
         }
-        
-        if (board.isStarted()) {
-            boolean p1SoftDrop = (currentGameMode == GameMode.ONE_PLAYER && pressedKeys.contains(KeyEvent.VK_DOWN)) ||
-                                 (currentGameMode == GameMode.TWO_PLAYER && pressedKeys.contains(KeyEvent.VK_S));
-            boolean p2SoftDrop = (currentGameMode == GameMode.TWO_PLAYER && pressedKeys.contains(KeyEvent.VK_DOWN));
+    }
 
-            if (board == board1 && p1SoftDrop) return; // P1 está no soft drop, gravidade pausa
-            if (board == board2 && p2SoftDrop) return; // P2 está no soft drop, gravidade pausa
+    /**
+     * Compara o estado atual com o que o último quadro mostrou: versões dos
+     * tabuleiros e dos menus, fase do cursor piscante e a queda suave da peça
+     * (que muda a cada quadro sem mudar o Board). Quando a queda para (peça
+     * fixada, pausa, soft drop, fim da rodada) alguma versão também muda, e
+     * esse último quadro é desenhado.
+     */
+    private synchronized boolean hasViewChanges() {
+        boolean falling = isGameRunning() && !engine.isRoundFinished()
+                          && (engine.isFalling(board1) || engine.isFalling(board2));
+        return falling
+            || viewStateVersion != renderedViewStateVersion
+            || board1.getStateVersion() != renderedBoard1Version
+            || board2.getStateVersion() != renderedBoard2Version
+            || currentBlinkPhase() != renderedBlinkPhase;
+    }
 
-            if (currentTime - lastMoveTime > delay) {
-                board.movePieceDown();
-            }
+    /**
+     * Fase atual do cursor piscante dos menus (0 se a tela não tem cursor).
+     */
+    private long currentBlinkPhase() {
+        boolean isGameActive = board1.isStarted() || board2.isStarted();
+        if (isGameActive || !OverlayPanel.hasBlinkingCursor(currentScreen)) {
+            return 0;
         }
+        return System.currentTimeMillis() / OverlayPanel.CURSOR_BLINK_MILLIS;
+    }
+
+    /**
+     * Agenda uma renderização: na thread do ActiveRenderer (renderização ativa)
+     * ou no EDT (Swing). Pedidos feitos enquanto outro ainda está pendente
+     * são coalescidos em um só.
+     */
+    private void requestRender() {
+        if (activeRenderer != null) {
+            activeRenderer.requestFrame();
+        } else if (renderPending.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::renderNow);
+        }
+    }
+
+    /**
+     * Envia o estado para a View e pinta imediatamente as regiões alteradas
+     * (os painéis pedem repaint() só do que mudou), com o estado do jogo
+     * travado (a thread do loop não o altera no meio da pintura).
+     */
+    private void renderNow() {
+        renderPending.set(false);
+        synchronized (this) {
+            updateView();
+            RepaintManager.currentManager(gameFrame.getRootPane()).paintDirtyRegions();
+        }
+    }
+
+    /**
+     * Informa ao GameEngine quais jogadores estão segurando o "soft drop"
+     * (enquanto seguram, a gravidade daquele tabuleiro pausa).
+     */
+    private void updateSoftDropState() {
+        boolean p1SoftDrop = (currentGameMode == GameMode.ONE_PLAYER && pressedKeys.contains(KeyEvent.VK_DOWN)) ||
+                             (currentGameMode == GameMode.TWO_PLAYER && pressedKeys.contains(KeyEvent.VK_S));
+        boolean p2SoftDrop = (currentGameMode == GameMode.TWO_PLAYER && pressedKeys.contains(KeyEvent.VK_DOWN));
+
+        engine.setSoftDropping(board1, p1SoftDrop);
+        engine.setSoftDropping(board2, p2SoftDrop);
     }
 
 
@@ -315,10 +414,22 @@ public class GameController extends KeyAdapter implements ActionListener {
      * Envia todos os dados de estado atualizados para a View.
      */
     private void updateView() {
+        double alpha = renderAlpha;
+        double fallProgress1 = engine.getFallProgress(board1, alpha);
+        double fallProgress2 = engine.getFallProgress(board2, alpha);
+
+        // Registra o que este quadro mostra (ver hasViewChanges)
+        renderedViewStateVersion = viewStateVersion;
+        renderedBoard1Version = board1.getStateVersion();
+        renderedBoard2Version = board2.getStateVersion();
+        renderedBlinkPhase = currentBlinkPhase();
+
         gameFrame.getGamePanel().getBoardPanel1().updateBoard(board1);
+        gameFrame.getGamePanel().getBoardPanel1().setFallProgress(fallProgress1);
         gameFrame.getGamePanel().getInfoPanel1().updateInfo(board1);
         gameFrame.getGamePanel().getGarbageBar1().updateBoard(board1);
         gameFrame.getGamePanel().getBoardPanel2().updateBoard(board2);
+        gameFrame.getGamePanel().getBoardPanel2().setFallProgress(fallProgress2);
         gameFrame.getGamePanel().getInfoPanel2().updateInfo(board2);
         gameFrame.getGamePanel().getGarbageBar2().updateBoard(board2);
         
@@ -337,16 +448,15 @@ public class GameController extends KeyAdapter implements ActionListener {
             gameFrame.getGamePanel().getInfoPanel2().setHighScore(0); 
         }
 
+        gameFrame.getOverlayPanel().setStatusMessage(startupStatusMessage());
         gameFrame.getOverlayPanel().updateMenuState(
             board1, board2, currentGameMode, currentScreen, 
             mainMenuSelection, modeSelectSelection, gameOverSelection,
             pauseMenuSelection, rankingModeSelection, profileListSelection, 
-            topSoloScores, top2PWins, allProfiles,       
+            topSoloScores, top2PWins, profilePage, profileFilter,
             playerNameInput, profileErrorMessage,
             currentUser, currentUser2       
         );
-
-        gameFrame.repaint(); 
     }
     
     // --- Métodos de Input (DAS/ARR) ---
@@ -360,9 +470,10 @@ public class GameController extends KeyAdapter implements ActionListener {
             return; 
         }
 
-        long now = System.currentTimeMillis();
+        long now = System.nanoTime();
             
-        for (int keycode : new HashSet<>(pressedKeys)) {
+        // (Repetições nunca alteram 'pressedKeys', então é seguro iterar direto)
+        for (int keycode : pressedKeys) {
             
             Long firstPressTime = keyFirstPressTime.get(keycode);
             if (firstPressTime == null) continue; 
@@ -385,7 +496,7 @@ public class GameController extends KeyAdapter implements ActionListener {
      * Registra quando uma tecla é solta.
      */
     @Override
-    public void keyReleased(KeyEvent e) {
+    public synchronized void keyReleased(KeyEvent e) {
         int keycode = e.getKeyCode();
         pressedKeys.remove(keycode);
         keyFirstPressTime.remove(keycode);
@@ -396,7 +507,7 @@ public class GameController extends KeyAdapter implements ActionListener {
      * Roteador principal de entrada do teclado (primeira pressão).
      */
     @Override
-    public void keyPressed(KeyEvent e) {
+    public synchronized void keyPressed(KeyEvent e) {
         int keycode = e.getKeyCode();
         
         // Ignora repetições do SO
@@ -406,9 +517,12 @@ public class GameController extends KeyAdapter implements ActionListener {
         
         // Registra a tecla e o tempo
         pressedKeys.add(keycode);
-        long now = System.currentTimeMillis();
+        long now = System.nanoTime();
         keyFirstPressTime.put(keycode, now);
         keyLastRepeatTime.put(keycode, now); 
+
+        // Qualquer tecla pode mudar menus, seleções, tema ou perfis
+        viewStateVersion++;
         
         if (currentScreen == GameScreen.PROFILE_SELECTION ||
             currentScreen == GameScreen.PROFILE_SELECTION_P2 ||
@@ -418,16 +532,16 @@ public class GameController extends KeyAdapter implements ActionListener {
 
         // Roteamento de Menu
         if (currentScreen == GameScreen.PROFILE_SELECTION) {
-            handleProfileListKeys(e, 1); updateView(); return; 
+            handleProfileListKeys(e, 1); requestRender(); return; 
         }
         if (currentScreen == GameScreen.PROFILE_SELECTION_P2) {
-            handleProfileListKeys(e, 2); updateView(); return;
+            handleProfileListKeys(e, 2); requestRender(); return;
         }
         if (currentScreen == GameScreen.PROFILE_CREATE) {
-            handleProfileCreateKeys(e); updateView(); return;
+            handleProfileCreateKeys(e); requestRender(); return;
         }
         if (currentScreen == GameScreen.RANKING_MODE_SELECT) {
-            handleRankingModeSelectKeys(e); updateView(); return;
+            handleRankingModeSelectKeys(e); requestRender(); return;
         }
 
         // Roteamento de Jogo
@@ -450,36 +564,49 @@ public class GameController extends KeyAdapter implements ActionListener {
             handleMenuKeys(keycode); 
         }
         
-        updateView();
+        requestRender();
     }
     
     /**
      * Gerencia a navegação na lista de perfis (Seleção de P1 e P2).
+     * Letras e números filtram a lista pelo início do nome; as setas
+     * navegam, e a lista mostra só uma janela de perfis por vez.
      */
     private void handleProfileListKeys(KeyEvent e, int playerNum) {
         int keycode = e.getKeyCode();
         
-        int numOptions = (allProfiles != null ? allProfiles.size() : 0) + 1; 
+        int numOptions = (profilePage != null ? profilePage.totalMatches() : 0) + 1; 
 
-        if (keycode == KeyEvent.VK_UP || keycode == KeyEvent.VK_W) {
+        if (keycode == KeyEvent.VK_UP) {
             profileListSelection = (profileListSelection - 1 + numOptions) % numOptions;
+            scrollProfileList(numOptions - 1);
+            return;
         }
-        if (keycode == KeyEvent.VK_DOWN || keycode == KeyEvent.VK_S) {
+        if (keycode == KeyEvent.VK_DOWN) {
             profileListSelection = (profileListSelection + 1) % numOptions;
+            scrollProfileList(numOptions - 1);
+            return;
         }
         
+        // ESC/BACKSPACE primeiro apagam o filtro; com o filtro vazio, voltam
         if (keycode == KeyEvent.VK_ESCAPE || keycode == KeyEvent.VK_BACK_SPACE) {
+            if (!profileFilter.isEmpty()) {
+                setProfileFilter(keycode == KeyEvent.VK_ESCAPE
+                    ? "" : profileFilter.substring(0, profileFilter.length() - 1));
+                return;
+            }
             currentScreen = GameScreen.MODE_SELECT;
-            allProfiles = null; currentUser = null; currentUser2 = null;
+            profilePage = null; currentUser = null; currentUser2 = null;
             return;
         }
 
         if (keycode == KeyEvent.VK_ENTER) {
             if (profileListSelection == numOptions - 1) { // [CRIAR NOVO USUÁRIO]
-                playerNameInput = "";
+                playerNameInput = profileFilter; // O que foi digitado na busca já vira o nome
                 currentScreen = GameScreen.PROFILE_CREATE; 
-            } else if (allProfiles != null && profileListSelection < allProfiles.size()) {
-                PlayerProfile selectedProfile = allProfiles.get(profileListSelection);
+            } else if (profilePage != null && profileListSelection >= profilePage.offset()
+                       && profileListSelection < profilePage.offset() + profilePage.profiles().size()) {
+                PlayerProfile selectedProfile = profilePage.profiles().get(profileListSelection - profilePage.offset());
                 
                 if (playerNum == 2 && currentUser != null && selectedProfile.getUserID() == currentUser.getUserID()) {
                     System.err.println("GameController: P2 não pode ser o mesmo que P1.");
@@ -487,8 +614,11 @@ public class GameController extends KeyAdapter implements ActionListener {
                     return; 
                 }
                 
+                // Vem do cache local de perfis; o LastLogin é gravado depois, em segundo plano
+                PlayerProfile profile = persistence.recordLogin(selectedProfile);
+
                 if (playerNum == 1) {
-                    currentUser = profileDAO.findUserByUsername(selectedProfile.getUsername()); 
+                    currentUser = profile; 
                     System.out.println("GameController: P1 logado como " + currentUser.getUsername());
                     
                     // --- INÍCIO DA CORREÇÃO (RESET WINS) ---
@@ -498,11 +628,11 @@ public class GameController extends KeyAdapter implements ActionListener {
                     if (currentGameMode == GameMode.ONE_PLAYER) {
                         startGame(); 
                     } else {
-                        profileListSelection = 0; 
+                        resetProfileList(); 
                         currentScreen = GameScreen.PROFILE_SELECTION_P2;
                     }
                 } else { // playerNum == 2
-                    currentUser2 = profileDAO.findUserByUsername(selectedProfile.getUsername()); 
+                    currentUser2 = profile; 
                     System.out.println("GameController: P2 logado como " + currentUser2.getUsername());
                     
                     // --- INÍCIO DA CORREÇÃO (RESET WINS) ---
@@ -513,6 +643,42 @@ public class GameController extends KeyAdapter implements ActionListener {
                     startGame(); 
                 }
             }
+            return;
+        }
+
+        char c = e.getKeyChar();
+        if (Character.isLetterOrDigit(c) && profileFilter.length() < 15) {
+            setProfileFilter(profileFilter + Character.toUpperCase(c));
+        }
+    }
+
+    /**
+     * Troca o filtro da lista de perfis e volta ao primeiro perfil encontrado.
+     */
+    private void setProfileFilter(String filter) {
+        profileFilter = filter;
+        profileListSelection = 0;
+        profileListOffset = 0;
+        fetchProfilePage();
+    }
+
+    /**
+     * Move a janela visível da lista até a seleção, se ela saiu da janela.
+     * @param createOptionIndex Índice de [CRIAR NOVO USUÁRIO] (depois do último perfil).
+     */
+    private void scrollProfileList(int createOptionIndex) {
+        int rows = OverlayPanel.PROFILE_LIST_ROWS;
+        int offset = profileListOffset;
+        if (profileListSelection == createOptionIndex) {
+            offset = Math.max(0, createOptionIndex - rows); // Mostra os últimos perfis
+        } else if (profileListSelection < offset) {
+            offset = profileListSelection;
+        } else if (profileListSelection >= offset + rows) {
+            offset = profileListSelection - rows + 1;
+        }
+        if (offset != profileListOffset) {
+            profileListOffset = offset;
+            fetchProfilePage();
         }
     }
 
@@ -524,7 +690,7 @@ public class GameController extends KeyAdapter implements ActionListener {
 
         if (keycode == KeyEvent.VK_ENTER) {
             String cleanUsername = playerNameInput.trim();
-            if (cleanUsername.isEmpty()) return;
+            if (cleanUsername.isEmpty() || profileCreatePending) return;
 
             if (currentGameMode == GameMode.TWO_PLAYER && 
                 currentUser != null && 
@@ -534,46 +700,30 @@ public class GameController extends KeyAdapter implements ActionListener {
                 return;
             }
             
-            PlayerProfile existingUser = profileDAO.findUserByUsername(cleanUsername);
-            if (existingUser != null) {
-                System.err.println("GameController: Nome de usuário já existe.");
-                profileErrorMessage = "NOME DE USUÁRIO JÁ EXISTE!";
-                return; 
-            }
-
-            PlayerProfile profile = profileDAO.findOrCreatePlayer(cleanUsername);
-            if (profile == null) {
-                System.err.println("GameController: Erro ao criar perfil (nome inválido?).");
-                profileErrorMessage = "NOME INVÁLIDO!";
-                return;
-            }
-            
-            if (currentUser == null) {
-                currentUser = profile;
-                System.out.println("GameController: P1 criado/logado como " + currentUser.getUsername());
-                
-                // --- INÍCIO DA CORREÇÃO (RESET WINS) ---
-                board1.resetWins();
-                // --- FIM DA CORREÇÃO ---
-                
-                if (currentGameMode == GameMode.ONE_PLAYER) {
-                    startGame(); 
-                } else {
-                    fetchAllProfiles(); 
-                    profileListSelection = 0; 
-                    currentScreen = GameScreen.PROFILE_SELECTION_P2; 
+            // Verifica se o nome já existe e cria o perfil, sem travar a interface
+            profileCreatePending = true;
+            onDatabaseResult(persistence.findUserByUsername(cleanUsername), existingUser -> {
+                if (!isStillCreating(cleanUsername)) {
+                    profileCreatePending = false;
+                    return; // O jogador saiu da tela (ou mudou o nome) enquanto o banco respondia
                 }
-            } else { 
-                currentUser2 = profile;
-                System.out.println("GameController: P2 criado/logado como " + currentUser2.getUsername());
-                
-                // --- INÍCIO DA CORREÇÃO (RESET WINS) ---
-                // P1 já teve o wins resetado, agora reseta o P2
-                board2.resetWins();
-                // --- FIM DA CORREÇÃO ---
-                
-                startGame(); 
-            }
+                if (existingUser != null) {
+                    profileCreatePending = false;
+                    System.err.println("GameController: Nome de usuário já existe.");
+                    profileErrorMessage = "NOME DE USUÁRIO JÁ EXISTE!";
+                    return; 
+                }
+                onDatabaseResult(persistence.findOrCreatePlayer(cleanUsername), profile -> {
+                    profileCreatePending = false;
+                    if (!isStillCreating(cleanUsername)) return;
+                    if (profile == null) {
+                        System.err.println("GameController: Erro ao criar perfil (nome inválido?).");
+                        profileErrorMessage = "NOME INVÁLIDO!";
+                        return;
+                    }
+                    completeProfileCreate(profile);
+                });
+            });
 
         } else if (keycode == KeyEvent.VK_BACK_SPACE) {
             if (!playerNameInput.isEmpty()) {
@@ -595,6 +745,45 @@ public class GameController extends KeyAdapter implements ActionListener {
         }
     }
     
+    /**
+     * true se a tela de criação ainda está aberta com o mesmo nome digitado
+     * (a resposta do banco chega depois do ENTER).
+     */
+    private boolean isStillCreating(String username) {
+        return currentScreen == GameScreen.PROFILE_CREATE && username.equals(playerNameInput.trim());
+    }
+
+    /**
+     * Loga o perfil recém-criado como P1 ou P2 e segue para a próxima tela.
+     */
+    private void completeProfileCreate(PlayerProfile profile) {
+        if (currentUser == null) {
+            currentUser = profile;
+            System.out.println("GameController: P1 criado/logado como " + currentUser.getUsername());
+            
+            // --- INÍCIO DA CORREÇÃO (RESET WINS) ---
+            board1.resetWins();
+            // --- FIM DA CORREÇÃO ---
+            
+            if (currentGameMode == GameMode.ONE_PLAYER) {
+                startGame(); 
+            } else {
+                resetProfileList(); 
+                currentScreen = GameScreen.PROFILE_SELECTION_P2; 
+            }
+        } else { 
+            currentUser2 = profile;
+            System.out.println("GameController: P2 criado/logado como " + currentUser2.getUsername());
+            
+            // --- INÍCIO DA CORREÇÃO (RESET WINS) ---
+            // P1 já teve o wins resetado, agora reseta o P2
+            board2.resetWins();
+            // --- FIM DA CORREÇÃO ---
+            
+            startGame(); 
+        }
+    }
+
     /**
      * Gerencia a seleção de modo de ranking (1P ou 2P).
      */
@@ -613,13 +802,19 @@ public class GameController extends KeyAdapter implements ActionListener {
         
         if (keycode == KeyEvent.VK_ENTER) {
             switch (rankingModeSelection) {
-                case 0: // Ranking 1P
-                    this.topSoloScores = soloScoreDAO.getTopSoloScores(10); 
+                case 0: // Ranking 1P (a tela mostra "Carregando..." até o banco responder)
+                    this.topSoloScores = null;
                     currentScreen = GameScreen.RANKING_SCREEN; 
+                    onDatabaseResult(persistence.getTopSoloScores(10), scores -> {
+                        if (currentScreen == GameScreen.RANKING_SCREEN) topSoloScores = scores;
+                    });
                     break;
                 case 1: // Ranking 2P
-                    this.top2PWins = profileDAO.getTopPlayerWins(10);
+                    this.top2PWins = null;
                     currentScreen = GameScreen.RANKING_SCREEN_2P;
+                    onDatabaseResult(persistence.getTopPlayerWins(10), wins -> {
+                        if (currentScreen == GameScreen.RANKING_SCREEN_2P) top2PWins = wins;
+                    });
                     break;
             }
         }
@@ -640,22 +835,12 @@ public class GameController extends KeyAdapter implements ActionListener {
         }
         
         // start() NÃO reseta mais as vitórias
-        board1.start();
-        if (currentGameMode == GameMode.TWO_PLAYER) {
-            board2.start();
-        }
+        engine.startRound(currentGameMode == GameMode.TWO_PLAYER);
+        roundOverHandled = false;
 
         if (backgroundMusic != null) {
             backgroundMusic.playMusic();
         }
-
-        if (!timer.isRunning()) {
-            timer.start();
-        }
-        
-        long startTime = System.currentTimeMillis();
-        lastPieceMoveTime1 = startTime; 
-        lastPieceMoveTime2 = startTime;
         
         // Limpa os estados de input ao iniciar
         pressedKeys.clear();
@@ -736,9 +921,7 @@ public class GameController extends KeyAdapter implements ActionListener {
             backgroundMusic.playMusic();
         }
         
-        long currentTime = System.currentTimeMillis();
-        lastPieceMoveTime1 = currentTime;
-        lastPieceMoveTime2 = currentTime;
+        engine.resetGravityTimers();
         
         pressedKeys.clear();
         keyFirstPressTime.clear();
@@ -746,10 +929,59 @@ public class GameController extends KeyAdapter implements ActionListener {
     }
     
     /**
-     * Busca a lista completa de perfis do banco de dados.
+     * Volta a lista de perfis ao início, sem filtro, e busca a primeira página.
      */
-    private void fetchAllProfiles() {
-        this.allProfiles = profileDAO.getAllPlayerProfiles();
+    private void resetProfileList() {
+        setProfileFilter("");
+    }
+
+    /**
+     * Busca (em segundo plano) só os perfis da janela visível da lista, com
+     * o filtro atual. Enquanto a resposta não chega, a tela de seleção mostra
+     * a página anterior (ou "Carregando perfis..." se ainda não há nenhuma).
+     */
+    private void fetchProfilePage() {
+        String filter = profileFilter;
+        int offset = profileListOffset;
+        onDatabaseResult(persistence.searchProfiles(filter, offset, OverlayPanel.PROFILE_LIST_ROWS), page -> {
+            if (page == null || !filter.equals(profileFilter) || offset != profileListOffset) {
+                return; // Erro (já registrado) ou o jogador já filtrou/rolou para outra página
+            }
+            if (currentScreen == GameScreen.PROFILE_SELECTION ||
+                currentScreen == GameScreen.PROFILE_SELECTION_P2 ||
+                currentScreen == GameScreen.PROFILE_CREATE) {
+                profilePage = page;
+                // A lista pode ter diminuído desde a última página (ex: perfis unidos na sincronização)
+                profileListSelection = Math.min(profileListSelection, page.totalMatches());
+            }
+        });
+    }
+
+    /**
+     * Substitui o perfil logado (P1 ou P2) com o mesmo UserID pela versão do banco.
+     */
+    private void applyRefreshedProfile(PlayerProfile profile) {
+        if (profile == null) return;
+        if (currentUser != null && currentUser.getUserID() == profile.getUserID()) {
+            currentUser = profile;
+        } else if (currentUser2 != null && currentUser2.getUserID() == profile.getUserID()) {
+            currentUser2 = profile;
+        }
+    }
+
+    /**
+     * Aplica o resultado de uma operação do banco no EDT, com o estado do
+     * jogo travado (como um evento de teclado), e redesenha. Em caso de erro
+     * a ação recebe null (os DAOs já registram o erro).
+     */
+    private <T> void onDatabaseResult(CompletableFuture<T> future, Consumer<T> action) {
+        future.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            synchronized (this) {
+                action.accept(error == null ? result : null);
+                viewStateVersion++;
+            }
+            requestRender();
+        }));
     }
 
     /**
@@ -775,7 +1007,7 @@ public class GameController extends KeyAdapter implements ActionListener {
         mainMenuSelection = 0;
         topSoloScores = null; 
         top2PWins = null; 
-        allProfiles = null; 
+        profilePage = null; 
         currentUser = null;
         currentUser2 = null; 
         playerNameInput = "";
@@ -826,7 +1058,7 @@ public class GameController extends KeyAdapter implements ActionListener {
                     break;
                 case KeyEvent.VK_DOWN:
                     board1.movePieceDown();
-                    lastPieceMoveTime1 = System.currentTimeMillis(); 
+                    engine.resetGravityTimer(board1); 
                     break;
                     
                 // Ações de Pressão Única
@@ -839,7 +1071,7 @@ public class GameController extends KeyAdapter implements ActionListener {
                 case KeyEvent.VK_SPACE:
                     if (isFirstPress) {
                         board1.dropDown();
-                        lastPieceMoveTime1 = System.currentTimeMillis(); 
+                        engine.resetGravityTimer(board1); 
                     }
                     break;
             }
@@ -854,7 +1086,7 @@ public class GameController extends KeyAdapter implements ActionListener {
                 case KeyEvent.VK_S: 
                     if (p1_canPlay) {
                         board1.movePieceDown();
-                        lastPieceMoveTime1 = System.currentTimeMillis();
+                        engine.resetGravityTimer(board1);
                     }
                     break;
                 // P1 (WASD) - Ações de Pressão Única
@@ -863,7 +1095,7 @@ public class GameController extends KeyAdapter implements ActionListener {
                 case KeyEvent.VK_SPACE: 
                     if (p1_canPlay && isFirstPress) {
                         board1.dropDown();
-                        lastPieceMoveTime1 = System.currentTimeMillis();
+                        engine.resetGravityTimer(board1);
                     }
                     break;
 
@@ -873,7 +1105,7 @@ public class GameController extends KeyAdapter implements ActionListener {
                 case KeyEvent.VK_DOWN: 
                     if (p2_canPlay) {
                         board2.movePieceDown();
-                        lastPieceMoveTime2 = System.currentTimeMillis();
+                        engine.resetGravityTimer(board2);
                     }
                     break;
                 // P2 (Setas) - Ações de Pressão Única
@@ -882,7 +1114,7 @@ public class GameController extends KeyAdapter implements ActionListener {
                 case KeyEvent.VK_N: 
                     if (p2_canPlay && isFirstPress) {
                         board2.dropDown();
-                        lastPieceMoveTime2 = System.currentTimeMillis();
+                        engine.resetGravityTimer(board2);
                     }
                     break;
             }
@@ -936,8 +1168,8 @@ public class GameController extends KeyAdapter implements ActionListener {
                     } else {
                         currentGameMode = GameMode.TWO_PLAYER;
                     }
-                    fetchAllProfiles(); // Busca perfis para a próxima tela
-                    profileListSelection = 0; 
+                    profilePage = null;
+                    resetProfileList(); // Busca perfis para a próxima tela
                     currentScreen = GameScreen.PROFILE_SELECTION; 
                 }
                 if (keycode == KeyEvent.VK_ESCAPE || keycode == KeyEvent.VK_BACK_SPACE) {
@@ -965,12 +1197,4 @@ public class GameController extends KeyAdapter implements ActionListener {
                 break;
         }
     }
-
-    /**
-     * Calcula o delay de queda da peça com base no nível atual.
-     */
-    private int getDelayForLevel(Board board) {
-        // Garante que o delay nunca seja menor que 100ms
-        return Math.max(100, INITIAL_DELAY - (board.getLevel() - 1) * 30);
-    }
 }
\ No newline at end of file
@@ -0,0 +1,167 @@
+package com.tetris.controller;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Loop de jogo com passo fixo ("fixed timestep") em uma thread dedicada.
+ *
+ * A lógica roda em passos de duração fixa (1 / logicHz), medidos com
+ * System.nanoTime(), independentemente do EDT do Swing e da granularidade
+ * de milissegundos do relógio do sistema. A renderização é pedida em um
+ * ritmo próprio (renderHz) e recebe 'alpha': a fração do próximo passo
+ * lógico que já decorreu, usada para interpolar a exibição entre dois passos.
+ *
+ * As frequências podem ser configuradas na linha de comando:
+ *   java -Dtetris.logicHz=120 -Dtetris.renderHz=60 ...
+ */
+public class GameLoop implements Runnable {
+
+    /**
+     * Quem é conduzido pelo loop (o GameController).
+     */
+    public interface Callbacks {
+        /** Executa um passo lógico de duração fixa. */
+        void update();
+
+        /**
+         * Pede a exibição do estado atual.
+         * @param alpha Fração (0 a 1) do próximo passo lógico já decorrida.
+         */
+        void render(double alpha);
+    }
+
+    public static final int DEFAULT_LOGIC_HZ = 60;
+    public static final int DEFAULT_RENDER_HZ = 60;
+
+    // Se a thread atrasar muito (ex: GC, janela arrastada), descarta o atraso
+    // em vez de executar centenas de passos seguidos ("espiral da morte")
+    private static final int MAX_STEPS_PER_FRAME = 8;
+
+    private final Callbacks callbacks;
+    private final int logicHz;
+    private final long stepNanos;
+    private final long frameNanos;
+
+    private volatile boolean running = false;
+    private Thread thread;
+
+    public GameLoop(Callbacks callbacks, int logicHz, int renderHz) {
+        this.callbacks = callbacks;
+        this.logicHz = logicHz;
+        this.stepNanos = 1_000_000_000L / logicHz;
+        this.frameNanos = 1_000_000_000L / renderHz;
+    }
+
+    /**
+     * Frequência da lógica configurada por -Dtetris.logicHz (padrão 60).
+     */
+    public static int configuredLogicHz() {
+        return positiveOrDefault(Integer.getInteger("tetris.logicHz", DEFAULT_LOGIC_HZ), DEFAULT_LOGIC_HZ);
+    }
+
+    /**
+     * Frequência de renderização configurada por -Dtetris.renderHz (padrão 60).
+     */
+    public static int configuredRenderHz() {
+        return positiveOrDefault(Integer.getInteger("tetris.renderHz", DEFAULT_RENDER_HZ), DEFAULT_RENDER_HZ);
+    }
+
+    private static int positiveOrDefault(int value, int defaultValue) {
+        if (value <= 0) {
+            System.err.println("GameLoop: Frequência inválida (" + value + "), usando " + defaultValue + " Hz.");
+            return defaultValue;
+        }
+        return value;
+    }
+
+    /**
+     * Inicia a thread do loop (se ainda não estiver rodando).
+     */
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        thread = new Thread(this, "tetris-game-loop");
+        thread.setDaemon(true);
+        thread.start();
+        System.out.println("GameLoop: Iniciado (lógica " + logicHz + " Hz, renderização "
+                           + (1_000_000_000L / frameNanos) + " Hz).");
+    }
+
+    /**
+     * Para a thread do loop e espera ela terminar.
+     */
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    @Override
+    public void run() {
+        long previous = System.nanoTime();
+        long lag = 0;
+        long nextRender = previous;
+
+        while (running) {
+            long now = System.nanoTime();
+            lag += now - previous;
+            previous = now;
+
+            // --- Passos lógicos de duração fixa ---
+            int steps = 0;
+            while (lag >= stepNanos && steps < MAX_STEPS_PER_FRAME) {
+                safeUpdate();
+                lag -= stepNanos;
+                steps++;
+            }
+            if (lag >= stepNanos) {
+                lag %= stepNanos;
+            }
+
+            // --- Renderização (ritmo próprio, com interpolação) ---
+            if (now - nextRender >= 0) {
+                safeRender((double) lag / stepNanos);
+                nextRender += frameNanos;
+                if (now - nextRender >= 0) {
+                    nextRender = now + frameNanos; // Atrasou: não tenta "recuperar" quadros
+                }
+            }
+
+            // Dorme até o próximo evento (passo lógico ou quadro)
+            long nextStep = now + (stepNanos - lag);
+            long wakeUp = (nextStep - nextRender < 0) ? nextStep : nextRender;
+            long sleep = wakeUp - System.nanoTime();
+            if (sleep > 0) {
+                LockSupport.parkNanos(sleep);
+            }
+        }
+    }
+
+    private void safeUpdate() {
+        try {
+            callbacks.update();
+        } catch (RuntimeException e) {
+            System.err.println("GameLoop: Erro no passo lógico: " + e);
+            e.printStackTrace();
+        }
+    }
+
+    private void safeRender(double alpha) {
+        try {
+            callbacks.render(alpha);
+        } catch (RuntimeException e) {
+            System.err.println("GameLoop: Erro ao renderizar: " + e);
+            e.printStackTrace();
+        }
+    }
+
+    public int getLogicHz() { return logicHz; }
+    public long getStepNanos() { return stepNanos; }
+}
@@ -0,0 +1,351 @@
+package com.tetris.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool pequeno e limitado de conexões JDBC.
+ *
+ * Os DAOs pegam uma conexão por operação (getConnection) e a devolvem com
+ * close() — a conexão entregue é um proxy cujo close() a devolve ao pool em
+ * vez de fechá-la. Assim uma conexão quebrada (queda do servidor, failover)
+ * é descartada e substituída, em vez de ficar presa dentro de um DAO.
+ *
+ * - Validação ao emprestar: conexões paradas há algum tempo são testadas
+ *   com isValid() antes de serem entregues.
+ * - Despejo de ociosas: uma thread de manutenção fecha conexões paradas
+ *   há mais que o tempo limite.
+ * - Tempo de vida máximo: conexões antigas são fechadas ao voltarem ao
+ *   pool (ou ao serem encontradas ociosas), mesmo que ainda funcionem.
+ * - Métricas: ver {@link Stats}.
+ */
+public final class ConnectionPool {
+
+    /**
+     * Abre uma nova conexão física com o banco.
+     */
+    @FunctionalInterface
+    interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    /**
+     * Configuração do pool (tempos em milissegundos).
+     */
+    record Config(int maxSize, long borrowTimeoutMillis, long idleTimeoutMillis,
+                  long maxLifetimeMillis, long validateAfterIdleMillis) {}
+
+    /**
+     * Fotografia das métricas do pool.
+     * @param active Conexões emprestadas no momento.
+     * @param idle Conexões abertas esperando no pool.
+     * @param created Conexões físicas abertas desde o início.
+     * @param destroyed Conexões físicas fechadas (ociosas, velhas ou inválidas).
+     * @param borrowed Total de empréstimos.
+     * @param waits Empréstimos que tiveram que esperar uma conexão livre.
+     * @param timeouts Empréstimos que desistiram por tempo esgotado.
+     * @param validationFailures Conexões descartadas por falharem na validação.
+     */
+    public record Stats(int active, int idle, long created, long destroyed, long borrowed,
+                 long waits, long timeouts, long validationFailures) {}
+
+    // Tempo máximo (s) que isValid() pode levar na validação
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    // Intervalo da thread de manutenção (despejo de ociosas)
+    private static final long EVICTION_INTERVAL_MILLIS = 30_000;
+
+    /**
+     * Uma conexão física com os tempos usados pelas regras do pool.
+     */
+    private static final class PooledConnection {
+        final Connection raw;
+        final long createdAt;
+        long lastUsedAt;
+
+        PooledConnection(Connection raw, long now) {
+            this.raw = raw;
+            this.createdAt = now;
+            this.lastUsedAt = now;
+        }
+    }
+
+    private final ConnectionFactory factory;
+    private final Config config;
+    private final ScheduledExecutorService evictor;
+
+    // --- Estado (protegido por 'this') ---
+    private final Deque<PooledConnection> idle = new ArrayDeque<>(); // Mais recente primeiro
+    private int openCount = 0;   // Abertas (emprestadas + ociosas + sendo abertas)
+    private int activeCount = 0; // Emprestadas
+    private boolean closed = false;
+
+    // --- Métricas (protegidas por 'this') ---
+    private long created, destroyed, borrowed, waits, timeouts, validationFailures;
+
+    ConnectionPool(ConnectionFactory factory, Config config) {
+        this.factory = factory;
+        this.config = config;
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tetris-db-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(this::evictIdle,
+            EVICTION_INTERVAL_MILLIS, EVICTION_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    // --- Empréstimo e Devolução ---
+
+    /**
+     * Empresta uma conexão (que deve ser fechada com close() para voltar ao
+     * pool). Espera até o tempo limite se todas estiverem em uso.
+     * @throws SQLException Se não for possível abrir uma conexão ou o tempo esgotar.
+     */
+    Connection borrow() throws SQLException {
+        long deadline = System.currentTimeMillis() + config.borrowTimeoutMillis();
+
+        while (true) {
+            PooledConnection candidate;
+            synchronized (this) {
+                boolean waited = false;
+                while (!closed && idle.isEmpty() && openCount >= config.maxSize()) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        timeouts++;
+                        throw new SQLTransientConnectionException("Tempo esgotado esperando uma conexão livre no pool ("
+                                               + config.maxSize() + " em uso).");
+                    }
+                    if (!waited) {
+                        waits++;
+                        waited = true;
+                    }
+                    try {
+                        wait(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLTransientConnectionException("Interrompido esperando uma conexão do pool.", e);
+                    }
+                }
+                if (closed) {
+                    throw new SQLTransientConnectionException("O pool de conexões foi encerrado.");
+                }
+                candidate = idle.pollFirst();
+                if (candidate == null) {
+                    openCount++; // Reserva a vaga antes de abrir (fora da trava)
+                }
+            }
+
+            if (candidate == null) {
+                candidate = open();
+            } else if (!isUsable(candidate)) {
+                destroy(candidate);
+                continue; // Tenta a próxima ociosa (ou abre uma nova)
+            }
+
+            synchronized (this) {
+                activeCount++;
+                borrowed++;
+            }
+            return wrap(candidate);
+        }
+    }
+
+    /**
+     * Abre uma conexão física para uma vaga já reservada em openCount.
+     */
+    private PooledConnection open() throws SQLException {
+        try {
+            Connection raw = factory.open();
+            synchronized (this) {
+                created++;
+            }
+            return new PooledConnection(raw, System.currentTimeMillis());
+        } catch (SQLException | RuntimeException e) {
+            synchronized (this) {
+                openCount--;
+                notifyAll();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Regras aplicadas a uma conexão ociosa antes de emprestá-la: tempo de
+     * vida e, se ficou parada algum tempo, validação com o servidor.
+     */
+    private boolean isUsable(PooledConnection pooled) {
+        long now = System.currentTimeMillis();
+        if (now - pooled.createdAt >= config.maxLifetimeMillis()) {
+            return false;
+        }
+        if (now - pooled.lastUsedAt < config.validateAfterIdleMillis()) {
+            return true;
+        }
+        try {
+            if (pooled.raw.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                return true;
+            }
+        } catch (SQLException e) {
+            // Tratada como inválida abaixo
+        }
+        synchronized (this) {
+            validationFailures++;
+        }
+        System.out.println("ConnectionPool: Conexão inválida descartada (servidor reiniciado ou failover?).");
+        return false;
+    }
+
+    /**
+     * Chamado pelo close() do proxy: devolve a conexão ao pool, ou a fecha se
+     * estiver quebrada, velha demais ou se o pool foi encerrado.
+     */
+    private void release(PooledConnection pooled) {
+        boolean keep;
+        try {
+            keep = !pooled.raw.isClosed();
+            if (keep && !pooled.raw.getAutoCommit()) {
+                // Quem emprestou deixou uma transação aberta: não a entrega a outro
+                pooled.raw.rollback();
+                pooled.raw.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            keep = false;
+        }
+
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            activeCount--;
+            if (keep && !closed && now - pooled.createdAt < config.maxLifetimeMillis()) {
+                pooled.lastUsedAt = now;
+                idle.addFirst(pooled);
+                notifyAll();
+                return;
+            }
+        }
+        destroy(pooled);
+    }
+
+    /**
+     * Fecha a conexão física e libera a vaga no pool.
+     */
+    private void destroy(PooledConnection pooled) {
+        try {
+            pooled.raw.close();
+        } catch (SQLException e) {
+            // Já estava quebrada; nada a fazer
+        }
+        synchronized (this) {
+            openCount--;
+            destroyed++;
+            notifyAll();
+        }
+    }
+
+    // --- Manutenção ---
+
+    /**
+     * Fecha conexões ociosas há mais que o tempo limite ou que passaram do
+     * tempo de vida máximo (executado periodicamente pela thread do pool).
+     */
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        List<PooledConnection> expired = new ArrayList<>();
+        synchronized (this) {
+            Iterator<PooledConnection> it = idle.iterator();
+            while (it.hasNext()) {
+                PooledConnection pooled = it.next();
+                if (now - pooled.lastUsedAt >= config.idleTimeoutMillis() ||
+                    now - pooled.createdAt >= config.maxLifetimeMillis()) {
+                    it.remove();
+                    expired.add(pooled);
+                }
+            }
+        }
+        for (PooledConnection pooled : expired) {
+            destroy(pooled);
+        }
+    }
+
+    /**
+     * Encerra o pool: fecha as conexões ociosas agora e as emprestadas quando
+     * forem devolvidas.
+     */
+    void close() {
+        List<PooledConnection> toClose;
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            idle.clear();
+            notifyAll();
+        }
+        evictor.shutdownNow();
+        for (PooledConnection pooled : toClose) {
+            destroy(pooled);
+        }
+    }
+
+    synchronized Stats getStats() {
+        return new Stats(activeCount, idle.size(), created, destroyed, borrowed,
+                         waits, timeouts, validationFailures);
+    }
+
+    // --- Proxy da Conexão ---
+
+    /**
+     * Envolve a conexão física: close() a devolve ao pool (uma única vez) e,
+     * depois disso, qualquer outro uso é um erro.
+     */
+    private Connection wrap(PooledConnection pooled) {
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            new InvocationHandler() {
+                private boolean returned = false;
+
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                    switch (method.getName()) {
+                        case "close":
+                            if (!returned) {
+                                returned = true;
+                                release(pooled);
+                            }
+                            return null;
+                        case "isClosed":
+                            return returned || pooled.raw.isClosed();
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "ConnectionPool$Proxy[" + pooled.raw + "]";
+                        default:
+                            break;
+                    }
+                    if (returned) {
+                        throw new SQLException("Conexão já devolvida ao pool.");
+                    }
+                    try {
+                        return method.invoke(pooled.raw, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+            });
+    }
+}
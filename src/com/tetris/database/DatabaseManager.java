@@ -10,20 +10,23 @@ import java.io.FileInputStream;
 import java.io.IOException;
 
 /**
- * Gerencia a conexão com o banco de dados SQL Server usando o padrão Singleton.
+ * Gerencia as conexões com o banco de dados SQL Server usando o padrão Singleton.
  * Esta classe é responsável por carregar as credenciais de 'config.properties'
- * e fornecer uma instância de conexão única e centralizada para os DAOs.
+ * e manter um pool de conexões ({@link ConnectionPool}) do qual os DAOs
+ * emprestam uma conexão a cada operação.
  */
 public class DatabaseManager {
 
     // --- Instância Singleton ---
     private static DatabaseManager instance;
 
-    private Connection connection;
+    private final ConnectionPool pool;
+    private boolean available = false; // A primeira conexão foi aberta com sucesso
 
     // --- Configurações Carregadas ---
     // A String de conexão é final e inicializada no bloco estático.
     private static final String CONNECTION_STRING;
+    private static final ConnectionPool.Config POOL_CONFIG;
 
     /**
      * Bloco estático para carregar as configurações do 'config.properties'
@@ -47,6 +50,15 @@ public class DatabaseManager {
                 throw new RuntimeException("Erro: 'db.user' ou 'db.password' não encontrado em config.properties");
             }
 
+            // Pool de conexões (opcional; valores padrão pensados para o jogo)
+            POOL_CONFIG = new ConnectionPool.Config(
+                intProperty(props, "db.pool.maxSize", 4),
+                intProperty(props, "db.pool.borrowTimeoutSeconds", 10) * 1000L,
+                intProperty(props, "db.pool.idleTimeoutSeconds", 300) * 1000L,
+                intProperty(props, "db.pool.maxLifetimeSeconds", 1800) * 1000L,
+                intProperty(props, "db.pool.validateAfterIdleSeconds", 5) * 1000L
+            );
+
         } catch (IOException e) {
             System.err.println("--- ERRO CRÍTICO ---");
             System.err.println("Não foi possível carregar o arquivo 'config.properties'!");
@@ -63,19 +75,37 @@ public class DatabaseManager {
         );
     }
 
+    /**
+     * Lê uma propriedade inteira positiva, usando o padrão se ausente ou inválida.
+     */
+    private static int intProperty(Properties props, String key, int defaultValue) {
+        String value = props.getProperty(key);
+        if (value == null) return defaultValue;
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            return parsed > 0 ? parsed : defaultValue;
+        } catch (NumberFormatException e) {
+            System.err.println("DatabaseManager: Valor inválido para '" + key + "': " + value);
+            return defaultValue;
+        }
+    }
+
     /**
      * Construtor privado (parte do padrão Singleton).
-     * Tenta carregar o driver JDBC e conectar-se ao banco de dados.
+     * Tenta carregar o driver JDBC e abre a primeira conexão do pool,
+     * para que falhas de configuração apareçam logo na inicialização.
      */
     private DatabaseManager() {
+        this.pool = new ConnectionPool(() -> DriverManager.getConnection(CONNECTION_STRING), POOL_CONFIG);
         try {
             // 1. Carrega a classe do driver JDBC
             Class.forName("com.microsoft.sqlserver.jdbc.SQLServerDriver");
             
             System.out.println("DatabaseManager: Conectando ao SQL Server...");
             
-            // 2. Tenta estabelecer a conexão
-            this.connection = DriverManager.getConnection(CONNECTION_STRING);
+            // 2. Tenta estabelecer a conexão (que fica no pool para o primeiro uso)
+            pool.borrow().close();
+            available = true;
             
             System.out.println("DatabaseManager: Conexão estabelecida com sucesso!");
 
@@ -105,28 +135,48 @@ public class DatabaseManager {
     }
 
     /**
-     * Obtém a conexão ativa com o banco.
+     * Empresta uma conexão do pool (já validada). Deve ser fechada após o uso
+     * (de preferência com try-with-resources): close() a devolve ao pool.
+     * @throws SQLException Se não houver conexão disponível (banco fora do ar,
+     *                      pool esgotado).
      */
-    public Connection getConnection() {
-        try {
-            // Verifica se a conexão foi perdida (ex: timeout) e reconecta se necessário
-            if (this.connection == null || this.connection.isClosed()) {
-                System.out.println("DatabaseManager: Conexão perdida. Reconectando...");
-                this.connection = DriverManager.getConnection(CONNECTION_STRING);
-            }
-        } catch (SQLException e) {
-            System.err.println("Erro ao verificar/recriar conexão: " + e.getMessage());
+    public Connection getConnection() throws SQLException {
+        return pool.borrow();
+    }
+
+    /**
+     * true se a conexão inicial (na criação do DatabaseManager) funcionou.
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * Métricas atuais do pool de conexões.
+     */
+    public ConnectionPool.Stats getPoolStats() {
+        return pool.getStats();
+    }
+
+    /**
+     * Encerra o pool (se o DatabaseManager chegou a ser criado), registrando
+     * suas métricas. Chamado ao encerrar a aplicação.
+     */
+    public static synchronized void shutdown() {
+        if (instance != null) {
+            System.out.println("DatabaseManager: Encerrando pool de conexões. " + instance.pool.getStats());
+            instance.pool.close();
         }
-        return this.connection;
     }
 
     /**
-     * Método utilitário para fechar recursos do JDBC (Statement e ResultSet) de forma segura.
+     * Método utilitário para fechar recursos do JDBC (Statement, ResultSet e
+     * Connection) de forma segura. Fechar a conexão a devolve ao pool.
      */
     public static void close(Connection conn, Statement stmt, ResultSet rs) {
         try { if (rs != null) rs.close(); } catch (SQLException e) { /* ignora */ }
         try { if (stmt != null) stmt.close(); } catch (SQLException e) { /* ignora */ }
-        // A conexão (conn) não é fechada aqui, pois é gerenciada pelo Singleton.
+        try { if (conn != null) conn.close(); } catch (SQLException e) { /* ignora */ }
     }
     
     /**
@@ -0,0 +1,67 @@
+package com.tetris.database;
+
+/**
+ * Resultado de uma partida à espera de ser gravado no banco pela
+ * {@link ResultWriteQueue}.
+ *
+ * Cada resultado sabe se converter em uma linha de texto (e voltar dela),
+ * que é o formato do arquivo de spool local.
+ */
+interface GameResult {
+
+    /**
+     * Linha do arquivo de spool (campos separados por ';').
+     */
+    String toSpoolLine();
+
+    /**
+     * Converte uma linha do spool de volta em um resultado.
+     * @return O resultado, ou null se a linha for inválida (ex: arquivo truncado).
+     */
+    static GameResult fromSpoolLine(String line) {
+        String[] fields = line.trim().split(";");
+        try {
+            switch (fields[0]) {
+                case SoloResult.TAG:
+                    if (fields.length != 6) return null;
+                    return new SoloResult(
+                        Integer.parseInt(fields[1]), Integer.parseInt(fields[2]),
+                        Integer.parseInt(fields[3]), Integer.parseInt(fields[4]),
+                        Integer.parseInt(fields[5]));
+                case MatchResult.TAG:
+                    if (fields.length != 5) return null;
+                    return new MatchResult(
+                        Integer.parseInt(fields[1]), Integer.parseInt(fields[2]),
+                        Integer.parseInt(fields[3]), Integer.parseInt(fields[4]));
+                default:
+                    return null;
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Partida 1P: pontuação (SoloScores) e estatísticas do perfil.
+     */
+    record SoloResult(int userID, int score, int level, int lines, int tetrisCount) implements GameResult {
+        static final String TAG = "1P";
+
+        @Override
+        public String toSpoolLine() {
+            return TAG + ";" + userID + ";" + score + ";" + level + ";" + lines + ";" + tetrisCount;
+        }
+    }
+
+    /**
+     * Partida 2P: registro da partida (MultiplayerMatches) e estatísticas dos dois perfis.
+     */
+    record MatchResult(int winnerID, int loserID, int winnerScore, int loserScore) implements GameResult {
+        static final String TAG = "2P";
+
+        @Override
+        public String toSpoolLine() {
+            return TAG + ";" + winnerID + ";" + loserID + ";" + winnerScore + ";" + loserScore;
+        }
+    }
+}
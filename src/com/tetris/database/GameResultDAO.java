@@ -0,0 +1,78 @@
+package com.tetris.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Grava um lote de resultados de partidas (1P e 2P) em uma única transação:
+ * as pontuações e estatísticas 1P vão em batches JDBC, e cada partida 2P é
+ * um único comando (partida + os dois perfis, ver
+ * MultiplayerMatchDAO.MATCH_RESULT_SQL). Ou tudo é gravado ou nada é.
+ *
+ * Usa o mesmo SQL das operações individuais dos outros DAOs.
+ */
+class GameResultDAO implements GameResultWriter {
+
+    private final DatabaseManager database;
+
+    GameResultDAO() {
+        this.database = DatabaseManager.getInstance();
+    }
+
+    /**
+     * Grava todos os resultados do lote em uma transação.
+     * @return Os perfis atualizados de cada partida 2P do lote (já confirmados).
+     * @throws SQLException Se qualquer parte falhar (nada é gravado).
+     */
+    @Override
+    public List<MatchOutcome> writeBatch(List<GameResult> results) throws SQLException {
+        List<MatchOutcome> outcomes = new ArrayList<>();
+        try (Connection connection = database.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement insertScore = connection.prepareStatement(SoloScoreDAO.INSERT_SCORE_SQL);
+                 PreparedStatement updateStats1P = connection.prepareStatement(PlayerProfileDAO.UPDATE_STATS_1P_SQL);
+                 PreparedStatement matchResult = connection.prepareStatement(MultiplayerMatchDAO.MATCH_RESULT_SQL)) {
+
+                int soloScores = 0, soloResults = 0;
+                for (GameResult result : results) {
+                    if (result instanceof GameResult.SoloResult solo) {
+                        if (solo.score() > 0) { // Não salva pontuação zero
+                            insertScore.setInt(1, solo.userID());
+                            insertScore.setInt(2, solo.score());
+                            insertScore.setInt(3, solo.level());
+                            insertScore.setInt(4, solo.lines());
+                            insertScore.setInt(5, solo.tetrisCount());
+                            insertScore.addBatch();
+                            soloScores++;
+                        }
+                        updateStats1P.setInt(1, solo.score()); // para TotalScore_1P
+                        updateStats1P.setInt(2, solo.score()); // para a condição CASE
+                        updateStats1P.setInt(3, solo.score()); // para o valor CASE
+                        updateStats1P.setInt(4, solo.userID());
+                        updateStats1P.addBatch();
+                        soloResults++;
+
+                    } else if (result instanceof GameResult.MatchResult match) {
+                        // Uma ida e volta por partida, que já devolve os perfis atualizados
+                        outcomes.add(MultiplayerMatchDAO.executeMatchResult(matchResult,
+                            match.winnerID(), match.loserID(), match.winnerScore(), match.loserScore()));
+                    }
+                }
+
+                // Só envia os batches que têm algo
+                if (soloScores > 0) insertScore.executeBatch();
+                if (soloResults > 0) updateStats1P.executeBatch();
+                connection.commit();
+
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+            // O pool restaura o auto-commit quando a conexão é devolvida
+        }
+        return outcomes;
+    }
+}
@@ -0,0 +1,51 @@
+package com.tetris.database;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Grava um lote de resultados de partidas (usado pela {@link ResultWriteQueue}).
+ */
+interface GameResultWriter {
+
+    /**
+     * Grava o lote inteiro ou nada dele (a fila pode tentar de novo partes
+     * de um lote que falhou).
+     * @return Os perfis atualizados de cada partida 2P do lote.
+     * @throws SQLException Se o lote não pôde ser gravado (ver ResultWriteQueue.isTransient).
+     */
+    List<MatchOutcome> writeBatch(List<GameResult> results) throws SQLException;
+
+    /**
+     * O gravador de um armazenamento: no SQL Server, o {@link GameResultDAO}
+     * (uma transação por lote); nos demais, resultado a resultado pelos
+     * repositórios, com as mesmas operações das gravações individuais
+     * (que tratam os próprios erros: um resultado recusado é registrado e
+     * descartado pelo repositório, sem desfazer o resto do lote).
+     */
+    static GameResultWriter forBackend(StorageBackend backend) {
+        if (backend instanceof SqlServerStorage) {
+            return new GameResultDAO();
+        }
+        return results -> writeThroughRepositories(backend, results);
+    }
+
+    private static List<MatchOutcome> writeThroughRepositories(StorageBackend backend, List<GameResult> results) {
+        List<MatchOutcome> outcomes = new ArrayList<>();
+        for (GameResult result : results) {
+            if (result instanceof GameResult.SoloResult solo) {
+                backend.soloScores().addScore(solo.userID(), solo.score(), solo.level(), solo.lines(), solo.tetrisCount());
+                backend.profiles().updateStats1P(solo.userID(), solo.score());
+
+            } else if (result instanceof GameResult.MatchResult match) {
+                MatchOutcome outcome = backend.matches().recordMatchResult(
+                    match.winnerID(), match.loserID(), match.winnerScore(), match.loserScore());
+                if (outcome != null) { // null = recusada (o repositório já registrou o erro)
+                    outcomes.add(outcome);
+                }
+            }
+        }
+        return outcomes;
+    }
+}
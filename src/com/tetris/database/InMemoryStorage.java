@@ -0,0 +1,312 @@
+package com.tetris.database;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Armazenamento em memória, com a mesma semântica das tabelas e DAOs do
+ * SQL Server (UserID sequencial a partir de 1, nome único sem diferenciar
+ * maiúsculas, até 50 caracteres, pontuação zero não registrada, mesmas
+ * ordenações dos rankings). Permite rodar o jogo (-Dtetris.storage=memory),
+ * os benchmarks e testes de carga da camada de persistência sem banco.
+ *
+ * Os dados se perdem ao encerrar. Thread-safe (todas as operações
+ * sincronizam nesta instância, o que também as torna atômicas).
+ */
+public final class InMemoryStorage implements StorageBackend {
+
+    // Mesmo limite da coluna Username NVARCHAR(50)
+    private static final int MAX_USERNAME_LENGTH = 50;
+
+    // --- Linhas das "tabelas" ---
+
+    private static final class ProfileRow {
+        final int userID;
+        final String username;
+        Date lastLogin = new Date();
+        int gamesPlayed1P, highScore1P;
+        long totalScore1P;
+        int gamesPlayed2P, wins2P, losses2P;
+
+        ProfileRow(int userID, String username) {
+            this.userID = userID;
+            this.username = username;
+        }
+
+        PlayerProfile toProfile() {
+            return new PlayerProfile(userID, username, gamesPlayed1P, highScore1P, totalScore1P,
+                                     gamesPlayed2P, wins2P, losses2P);
+        }
+    }
+
+    private record ScoreRow(int userID, int score, int level, int lines, int tetrisCount, Date dateAchieved) {}
+
+    private record MatchRow(int winnerID, int loserID, int winnerScore, int loserScore, Date datePlayed) {}
+
+    // --- Dados (protegidos por 'this') ---
+    private final Map<Integer, ProfileRow> profilesById = new HashMap<>();
+    private final Map<String, ProfileRow> profilesByName = new HashMap<>(); // chave: nameKey()
+    private final List<ScoreRow> soloScores = new ArrayList<>();
+    private final List<MatchRow> matches = new ArrayList<>();
+    private int nextUserID = 1; // IDENTITY(1,1)
+
+    private final PlayerProfileRepository profileRepository = new Profiles();
+    private final SoloScoreRepository soloScoreRepository = new SoloScores();
+    private final MatchRepository matchRepository = new Matches();
+
+    @Override
+    public PlayerProfileRepository profiles() { return profileRepository; }
+
+    @Override
+    public SoloScoreRepository soloScores() { return soloScoreRepository; }
+
+    @Override
+    public MatchRepository matches() { return matchRepository; }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    /**
+     * Como o SQL Server compara nomes: sem diferenciar maiúsculas e
+     * ignorando espaços no fim.
+     */
+    private static String nameKey(String username) {
+        return username.stripTrailing().toLowerCase(Locale.ROOT);
+    }
+
+    // --- PlayerProfiles ---
+
+    private final class Profiles implements PlayerProfileRepository {
+
+        @Override
+        public PlayerProfile findUserByUsername(String username) {
+            synchronized (InMemoryStorage.this) {
+                ProfileRow row = profilesByName.get(nameKey(username));
+                if (row == null) return null;
+                row.lastLogin = new Date();
+                return row.toProfile();
+            }
+        }
+
+        @Override
+        public PlayerProfile findOrCreatePlayer(String username) {
+            if (username == null || username.trim().isEmpty()) {
+                return null; // Nomes vazios não são permitidos
+            }
+            synchronized (InMemoryStorage.this) {
+                PlayerProfile existing = findUserByUsername(username);
+                if (existing != null) return existing;
+
+                if (username.length() > MAX_USERNAME_LENGTH) {
+                    System.err.println("InMemoryStorage: Erro ao criar usuário (nome com mais de "
+                                       + MAX_USERNAME_LENGTH + " caracteres).");
+                    return null;
+                }
+                ProfileRow row = new ProfileRow(nextUserID++, username);
+                profilesById.put(row.userID, row);
+                profilesByName.put(nameKey(username), row);
+                return row.toProfile();
+            }
+        }
+
+        @Override
+        public void updateLastLogins(Map<Integer, Date> lastLogins) {
+            synchronized (InMemoryStorage.this) {
+                lastLogins.forEach((userID, lastLogin) -> {
+                    ProfileRow row = profilesById.get(userID);
+                    if (row != null) row.lastLogin = lastLogin;
+                });
+            }
+        }
+
+        @Override
+        public void updateStats1P(int userID, int finalScore) {
+            synchronized (InMemoryStorage.this) {
+                ProfileRow row = profilesById.get(userID);
+                if (row == null) return; // UPDATE sem linhas afetadas
+                row.gamesPlayed1P++;
+                row.totalScore1P += finalScore;
+                row.highScore1P = Math.max(row.highScore1P, finalScore);
+            }
+        }
+
+        @Override
+        public void updateStats2P(int winnerUserID, int loserUserID) {
+            synchronized (InMemoryStorage.this) {
+                ProfileRow winner = profilesById.get(winnerUserID);
+                ProfileRow loser = profilesById.get(loserUserID);
+                if (winner != null) {
+                    winner.gamesPlayed2P++;
+                    winner.wins2P++;
+                }
+                if (loser != null) {
+                    loser.gamesPlayed2P++;
+                    loser.losses2P++;
+                }
+            }
+        }
+
+        @Override
+        public List<PlayerWinsEntry> getTopPlayerWins(int limit) {
+            return queryTopPlayerWins(limit);
+        }
+
+        @Override
+        public List<PlayerWinsEntry> queryTopPlayerWins(int limit) {
+            List<PlayerWinsEntry> topPlayers = new ArrayList<>();
+            synchronized (InMemoryStorage.this) {
+                for (ProfileRow row : profilesById.values()) {
+                    if (row.wins2P > 0) { // Não mostra jogadores com 0 vitórias
+                        topPlayers.add(new PlayerWinsEntry(row.username, row.wins2P));
+                    }
+                }
+            }
+            topPlayers.sort(Comparator.comparingInt(PlayerWinsEntry::wins).reversed()
+                                      .thenComparing(PlayerWinsEntry::username));
+            return limited(topPlayers, limit);
+        }
+
+        @Override
+        public List<PlayerProfile> getAllPlayerProfiles() {
+            return queryAllPlayerProfiles();
+        }
+
+        @Override
+        public List<PlayerProfile> queryAllPlayerProfiles() {
+            List<PlayerProfile> allProfiles = new ArrayList<>();
+            synchronized (InMemoryStorage.this) {
+                for (ProfileRow row : profilesById.values()) {
+                    allProfiles.add(row.toProfile());
+                }
+            }
+            allProfiles.sort(Comparator.comparing(PlayerProfile::getUsername, String.CASE_INSENSITIVE_ORDER));
+            return allProfiles;
+        }
+
+        @Override
+        public List<PlayerProfile> queryProfilesPage(String afterUsername, int limit) {
+            List<PlayerProfile> page = new ArrayList<>();
+            for (PlayerProfile profile : queryAllPlayerProfiles()) {
+                if (String.CASE_INSENSITIVE_ORDER.compare(profile.getUsername(), afterUsername) > 0) {
+                    page.add(profile);
+                }
+            }
+            return limited(page, limit);
+        }
+    }
+
+    // --- SoloScores ---
+
+    private final class SoloScores implements SoloScoreRepository {
+
+        @Override
+        public void addScore(int userID, int score, int level, int lines, int tetrisCount) {
+            if (score <= 0) {
+                return; // Não salva pontuação zero
+            }
+            synchronized (InMemoryStorage.this) {
+                if (!profilesById.containsKey(userID)) { // FOREIGN KEY para PlayerProfiles
+                    System.err.println("InMemoryStorage: Erro ao salvar pontuação 1P (UserID " + userID + " não existe).");
+                    return;
+                }
+                soloScores.add(new ScoreRow(userID, score, level, lines, tetrisCount, new Date()));
+            }
+        }
+
+        @Override
+        public List<SoloScoreEntry> getTopSoloScores(int limit) {
+            return queryTopSoloScores(limit);
+        }
+
+        /**
+         * A maior pontuação de cada jogador (como o ROW_NUMBER() da consulta SQL).
+         */
+        @Override
+        public List<SoloScoreEntry> queryTopSoloScores(int limit) {
+            List<SoloScoreEntry> topScores = new ArrayList<>();
+            synchronized (InMemoryStorage.this) {
+                Map<Integer, ScoreRow> best = new HashMap<>();
+                for (ScoreRow score : soloScores) {
+                    ScoreRow current = best.get(score.userID());
+                    if (current == null || score.score() > current.score()) {
+                        best.put(score.userID(), score);
+                    }
+                }
+                for (ScoreRow score : best.values()) {
+                    ProfileRow profile = profilesById.get(score.userID());
+                    if (profile == null) continue;
+                    topScores.add(new SoloScoreEntry(profile.username, score.score(), score.level(),
+                                                     score.lines(), score.tetrisCount(), score.dateAchieved()));
+                }
+            }
+            topScores.sort(Comparator.comparingInt(SoloScoreEntry::score).reversed()
+                                     .thenComparing(SoloScoreEntry::username));
+            return limited(topScores, limit);
+        }
+    }
+
+    // --- MultiplayerMatches ---
+
+    private final class Matches implements MatchRepository {
+
+        @Override
+        public void recordMatch(int winnerID, int loserID, int winnerScore, int loserScore) {
+            synchronized (InMemoryStorage.this) {
+                if (!profilesById.containsKey(winnerID) || !profilesById.containsKey(loserID)) {
+                    System.err.println("InMemoryStorage: Erro ao registrar partida 2P (perfil não existe).");
+                    return;
+                }
+                matches.add(new MatchRow(winnerID, loserID, winnerScore, loserScore, new Date()));
+            }
+        }
+
+        @Override
+        public MatchOutcome recordMatchResult(int winnerID, int loserID, int winnerScore, int loserScore) {
+            synchronized (InMemoryStorage.this) {
+                ProfileRow winner = profilesById.get(winnerID);
+                ProfileRow loser = profilesById.get(loserID);
+                // Nada é gravado, como na transação SQL. (Contra si mesmo, o UPDATE do SQL
+                // Server devolve uma só linha no OUTPUT e o comando é recusado.)
+                if (winner == null || loser == null || winnerID == loserID) {
+                    System.err.println("InMemoryStorage: Erro ao registrar resultado 2P (perfis "
+                                       + winnerID + ", " + loserID + " não encontrados).");
+                    return null;
+                }
+                matches.add(new MatchRow(winnerID, loserID, winnerScore, loserScore, new Date()));
+                profileRepository.updateStats2P(winnerID, loserID);
+                return new MatchOutcome(winner.toProfile(), loser.toProfile());
+            }
+        }
+
+        @Override
+        public List<RankingEntry2P> getTopPlayers(int limit) {
+            List<RankingEntry2P> ranking = new ArrayList<>();
+            synchronized (InMemoryStorage.this) {
+                for (ProfileRow row : profilesById.values()) {
+                    if (row.gamesPlayed2P > 0) {
+                        double winRate = (double) row.wins2P / row.gamesPlayed2P * 100;
+                        ranking.add(new RankingEntry2P(row.username, row.wins2P, row.losses2P,
+                                                       row.gamesPlayed2P, winRate));
+                    }
+                }
+            }
+            ranking.sort(Comparator.comparingInt(RankingEntry2P::wins).reversed()
+                                   .thenComparing(Comparator.comparingDouble(RankingEntry2P::winRate).reversed()));
+            return limited(ranking, limit);
+        }
+    }
+
+    /**
+     * Os primeiros 'limit' (como o TOP (?) do SQL).
+     */
+    private static <T> List<T> limited(List<T> sorted, int limit) {
+        return (sorted.size() > limit) ? new ArrayList<>(sorted.subList(0, Math.max(0, limit))) : sorted;
+    }
+}
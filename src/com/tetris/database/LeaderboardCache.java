@@ -0,0 +1,172 @@
+package com.tetris.database;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rankings (1P e 2P) mantidos em memória, para que abrir a tela de ranking
+ * seja uma leitura da memória e não uma consulta com função de janela sobre
+ * toda a tabela SoloScores. É o índice de rankings do {@link LocalStore}.
+ *
+ * - Montado a partir do log local e do banco (os CAPACITY primeiros de
+ *   cada ranking).
+ * - Atualizado incrementalmente a cada resultado gravado por este cliente:
+ *   no 1P guarda a melhor pontuação de cada jogador; no 2P o total de
+ *   vitórias. Como esses valores só crescem, um jogador que não estava
+ *   entre os CAPACITY primeiros só entra se passar o último.
+ * - Reconciliado a cada sincronização com o banco (resultados de outros
+ *   clientes), sem perder as atualizações locais feitas desde a última
+ *   reconciliação.
+ *
+ * As entradas são identificadas pelo nome de usuário sem diferenciar
+ * maiúsculas (LocalStore.nameKey, como no banco e nos índices do
+ * LocalStore): "Bob" e "BOB" são o mesmo jogador, e a grafia mostrada é
+ * a da entrada mais recente. Thread-safe.
+ */
+final class LeaderboardCache {
+
+    // Quantos jogadores são mantidos por ranking (mais que os exibidos,
+    // para que atualizações locais não abram "buracos" no topo)
+    static final int CAPACITY = 50;
+
+    private static final Comparator<SoloScoreEntry> SOLO_ORDER =
+        Comparator.comparingInt(SoloScoreEntry::score).reversed()
+                  .thenComparing(SoloScoreEntry::username);
+    private static final Comparator<PlayerWinsEntry> WINS_ORDER =
+        Comparator.comparingInt(PlayerWinsEntry::wins).reversed()
+                  .thenComparing(PlayerWinsEntry::username);
+
+    // --- Estado (protegido por 'this') ---
+    private boolean loaded = false;
+    private final Map<String, SoloScoreEntry> soloBest = new HashMap<>();  // chave: LocalStore.nameKey()
+    private final Map<String, PlayerWinsEntry> wins = new HashMap<>();     // chave: LocalStore.nameKey()
+    // Atualizações locais desde a última reconciliação (preservadas por ela)
+    private final Map<String, SoloScoreEntry> localSolo = new HashMap<>();
+    private final Map<String, PlayerWinsEntry> localWins = new HashMap<>();
+    // Listas ordenadas prontas para leitura (null = precisam ser refeitas)
+    private List<SoloScoreEntry> soloView;
+    private List<PlayerWinsEntry> winsView;
+
+    /**
+     * true depois da primeira carga a partir do banco.
+     */
+    synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    // --- Leitura ---
+
+    synchronized List<SoloScoreEntry> getTopSoloScores(int limit) {
+        if (soloView == null) {
+            soloView = sortedTop(soloBest, SOLO_ORDER);
+        }
+        return soloView.subList(0, Math.min(limit, soloView.size()));
+    }
+
+    synchronized List<PlayerWinsEntry> getTopPlayerWins(int limit) {
+        if (winsView == null) {
+            winsView = sortedTop(wins, WINS_ORDER);
+        }
+        return winsView.subList(0, Math.min(limit, winsView.size()));
+    }
+
+    // --- Atualizações Incrementais ---
+
+    /**
+     * Registra uma pontuação 1P (fica se for a melhor do jogador).
+     */
+    synchronized void recordSoloScore(SoloScoreEntry entry) {
+        if (entry.score() <= 0) return;
+        if (mergeSolo(soloBest, entry)) {
+            mergeSolo(localSolo, entry);
+            trim(soloBest, SOLO_ORDER);
+            soloView = null;
+        }
+    }
+
+    /**
+     * Registra o total de vitórias 2P de um jogador.
+     */
+    synchronized void recordWins(String username, int totalWins) {
+        if (totalWins <= 0) return;
+        PlayerWinsEntry entry = new PlayerWinsEntry(username, totalWins);
+        if (mergeWins(wins, entry)) {
+            mergeWins(localWins, entry);
+            trim(wins, WINS_ORDER);
+            winsView = null;
+        }
+    }
+
+    // --- Carga e Reconciliação ---
+
+    /**
+     * Substitui o conteúdo pelo que está no banco, mantendo as atualizações
+     * locais feitas desde a última reconciliação que o banco ainda não mostra
+     * (ex: resultado ainda na fila de gravação).
+     */
+    synchronized void reconcile(List<SoloScoreEntry> dbSolo, List<PlayerWinsEntry> dbWins) {
+        soloBest.clear();
+        for (SoloScoreEntry entry : dbSolo) mergeSolo(soloBest, entry);
+        for (SoloScoreEntry entry : localSolo.values()) mergeSolo(soloBest, entry);
+        trim(soloBest, SOLO_ORDER);
+
+        wins.clear();
+        for (PlayerWinsEntry entry : dbWins) mergeWins(wins, entry);
+        for (PlayerWinsEntry entry : localWins.values()) mergeWins(wins, entry);
+        trim(wins, WINS_ORDER);
+
+        // Daqui em diante o banco já deve conter essas atualizações
+        localSolo.clear();
+        localWins.clear();
+        soloView = null;
+        winsView = null;
+        loaded = true;
+    }
+
+    // --- Utilitários ---
+
+    // Um valor igual com outra grafia do nome também substitui (mostra a grafia atual)
+
+    private static boolean mergeSolo(Map<String, SoloScoreEntry> map, SoloScoreEntry entry) {
+        String key = LocalStore.nameKey(entry.username());
+        SoloScoreEntry current = map.get(key);
+        if (current != null && (current.score() > entry.score()
+                || (current.score() == entry.score() && current.username().equals(entry.username())))) {
+            return false;
+        }
+        map.put(key, entry);
+        return true;
+    }
+
+    private static boolean mergeWins(Map<String, PlayerWinsEntry> map, PlayerWinsEntry entry) {
+        String key = LocalStore.nameKey(entry.username());
+        PlayerWinsEntry current = map.get(key);
+        if (current != null && (current.wins() > entry.wins()
+                || (current.wins() == entry.wins() && current.username().equals(entry.username())))) {
+            return false;
+        }
+        map.put(key, entry);
+        return true;
+    }
+
+    /**
+     * Mantém apenas os CAPACITY melhores.
+     */
+    private static <T> void trim(Map<String, T> map, Comparator<T> order) {
+        if (map.size() <= CAPACITY) return;
+        List<T> sorted = new ArrayList<>(map.values());
+        sorted.sort(order);
+        for (T dropped : sorted.subList(CAPACITY, sorted.size())) {
+            map.values().remove(dropped);
+        }
+    }
+
+    private static <T> List<T> sortedTop(Map<String, T> map, Comparator<T> order) {
+        List<T> sorted = new ArrayList<>(map.values());
+        sorted.sort(order);
+        return List.copyOf(sorted);
+    }
+}
@@ -0,0 +1,592 @@
+package com.tetris.database;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Armazenamento local (embutido) dos perfis e dos rankings: um log em disco
+ * só de acréscimos mais índices em memória. Todas as leituras da interface
+ * (perfis, rankings) vêm daqui, então continuam funcionando com o SQL Server
+ * fora do ar; o {@link PersistenceService} replica em segundo plano.
+ *
+ * Formato do log (uma entrada por linha, campos separados por ';'; o nome
+ * vai por último para poder conter ';'):
+ *   P;id;jogos1P;recorde1P;total1P;jogos2P;vitórias;derrotas;nome  (estado de um perfil)
+ *   S;pontos;nível;linhas;tetris;dataMillis;nome                   (melhor pontuação 1P de um jogador)
+ *   A;idLocal;idBanco                                              (perfil criado offline já gravado no banco)
+ * Na leitura vale a última entrada de cada perfil/jogador. Quando o log fica
+ * muito maior que o estado que ele representa, é reescrito (compactado) na
+ * próxima abertura.
+ *
+ * Perfis criados sem banco recebem um UserID local negativo; quando o banco
+ * volta, a sincronização os cria lá e registra o UserID definitivo
+ * ({@link #bindServerProfile}). Resultados que usam o id local são
+ * traduzidos por {@link #resolveUserID}.
+ *
+ * Os perfis ficam também em um índice ordenado por nome (vetor de nomes
+ * em minúsculas + UserIDs), usado para a busca por prefixo e a paginação
+ * da tela de seleção: uma busca binária acha o início e o fim do prefixo,
+ * e só os perfis da página pedida são copiados. O índice só é refeito
+ * quando entra, sai ou muda o nome de um perfil (não a cada partida).
+ *
+ * Os perfis entregues são sempre cópias (quem os recebe pode modificá-los).
+ * Thread-safe; a carga inicial e os acréscimos no disco rodam na thread
+ * "tetris-store", para nunca bloquear a interface ou o loop de jogo.
+ */
+final class LocalStore {
+
+    // Arquivo do log padrão (na raiz do projeto, como o spool de resultados)
+    static final Path DEFAULT_FILE = Paths.get("local-store.log");
+    // Compacta se o log tiver mais que o dobro das entradas vivas (e ao menos isto)
+    private static final int COMPACT_MIN_LINES = 256;
+    // Tempo máximo esperando os últimos acréscimos ao encerrar
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private static final String PROFILE_TAG = "P";
+    private static final String SOLO_TAG = "S";
+    private static final String ALIAS_TAG = "A";
+
+    private final Path file; // null = só em memória (nada vai para o disco)
+    private final ExecutorService writer;
+    private final CountDownLatch loaded = new CountDownLatch(1);
+
+    // --- Índices (protegidos por 'this') ---
+    private final Map<Integer, PlayerProfile> profilesById = new HashMap<>();
+    private final Map<String, PlayerProfile> profilesByName = new HashMap<>(); // chave: nameKey()
+    private final Map<String, SoloScoreEntry> soloBest = new HashMap<>();      // chave: nameKey()
+    private final Map<Integer, Integer> serverIds = new HashMap<>();           // id local -> id do banco
+    private final LeaderboardCache rankings = new LeaderboardCache();
+    // Índice por nome: sortedKeys[i] = nameKey() do perfil sortedIds[i] (null = precisa ser refeito)
+    private String[] sortedKeys;
+    private int[] sortedIds;
+    private int nextLocalId = -1;
+    private boolean synced = false;
+
+    /**
+     * @param file Arquivo do log, ou null para não usar o disco.
+     */
+    LocalStore(Path file) {
+        this.file = file;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tetris-store");
+            thread.setDaemon(true);
+            return thread;
+        });
+        writer.execute(this::load);
+    }
+
+    // --- Situação ---
+
+    /**
+     * true depois que o log foi lido do disco.
+     */
+    boolean isLoaded() {
+        return loaded.getCount() == 0;
+    }
+
+    /**
+     * Espera a leitura do log (normalmente milissegundos).
+     */
+    void awaitLoaded() {
+        try {
+            loaded.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * true se há dados para mostrar: o log trouxe algum perfil, ou já houve
+     * uma sincronização com o banco.
+     */
+    synchronized boolean hasData() {
+        return synced || !profilesById.isEmpty();
+    }
+
+    // --- Leitura ---
+
+    synchronized PlayerProfile findByUsername(String username) {
+        PlayerProfile profile = profilesByName.get(nameKey(username));
+        return (profile != null) ? profile.copy() : null;
+    }
+
+    synchronized PlayerProfile findById(int userID) {
+        PlayerProfile profile = profilesById.get(resolveUserID(userID));
+        return (profile != null) ? profile.copy() : null;
+    }
+
+    /**
+     * Todos os perfis, em ordem de nome.
+     */
+    synchronized List<PlayerProfile> getAllProfiles() {
+        return searchProfiles("", 0, Integer.MAX_VALUE).profiles();
+    }
+
+    /**
+     * Uma página dos perfis cujo nome começa com 'prefix' (sem diferenciar
+     * maiúsculas), em ordem de nome.
+     * @param offset Posição do primeiro perfil da página entre os encontrados.
+     */
+    synchronized ProfilePage searchProfiles(String prefix, int offset, int limit) {
+        ensureNameIndex();
+        String key = nameKey(prefix);
+        int from = lowerBound(key);
+        int to = key.isEmpty() ? sortedKeys.length : lowerBound(key + Character.MAX_VALUE);
+        int total = to - from;
+
+        int start = from + Math.max(0, Math.min(offset, total));
+        int end = (int) Math.min(to, (long) start + Math.max(0, limit));
+        List<PlayerProfile> page = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            page.add(profilesById.get(sortedIds[i]).copy());
+        }
+        return new ProfilePage(page, start - from, total);
+    }
+
+    synchronized List<SoloScoreEntry> getTopSoloScores(int limit) {
+        return rankings.getTopSoloScores(limit);
+    }
+
+    synchronized List<PlayerWinsEntry> getTopPlayerWins(int limit) {
+        return rankings.getTopPlayerWins(limit);
+    }
+
+    // --- Alterações Locais ---
+
+    /**
+     * Cria um perfil só local (sem banco), com estatísticas zeradas e UserID negativo.
+     */
+    synchronized PlayerProfile createLocalProfile(String username) {
+        // Um id local já ligado a um perfil do banco nunca é reusado (resolveUserID o levaria para outro jogador)
+        while (serverIds.containsKey(nextLocalId) || profilesById.containsKey(nextLocalId)) {
+            nextLocalId--;
+        }
+        PlayerProfile profile = new PlayerProfile(nextLocalId--, username, 0, 0, 0L, 0, 0, 0);
+        putProfile(profile);
+        append(profileLine(profile));
+        System.out.println("LocalStore: Perfil '" + username + "' criado localmente (ID " + profile.getUserID() + ")");
+        return profile.copy();
+    }
+
+    /**
+     * Aplica uma partida 1P ao perfil (e ao ranking, se for a melhor do jogador).
+     */
+    synchronized void recordSoloResult(int userID, int score, int level, int lines, int tetrisCount) {
+        PlayerProfile profile = profilesById.get(resolveUserID(userID));
+        if (profile == null) return;
+
+        PlayerProfile updated = profile.copy();
+        updated.recordSoloGame(score);
+        putProfile(updated);
+        List<String> entries = new ArrayList<>(2);
+        entries.add(profileLine(updated));
+
+        SoloScoreEntry entry = new SoloScoreEntry(updated.getUsername(), score, level, lines, tetrisCount, new Date());
+        if (putSoloBest(entry)) {
+            entries.add(soloLine(entry));
+        }
+        append(entries);
+    }
+
+    /**
+     * Aplica uma partida 2P aos dois perfis (e ao ranking de vitórias).
+     */
+    synchronized void recordMatchResult(int winnerID, int loserID) {
+        PlayerProfile winner = profilesById.get(resolveUserID(winnerID));
+        PlayerProfile loser = profilesById.get(resolveUserID(loserID));
+        List<String> lines = new ArrayList<>(2);
+        if (winner != null) {
+            PlayerProfile updated = winner.copy();
+            updated.recordMatch(true);
+            putProfile(updated);
+            lines.add(profileLine(updated));
+        }
+        if (loser != null) {
+            PlayerProfile updated = loser.copy();
+            updated.recordMatch(false);
+            putProfile(updated);
+            lines.add(profileLine(updated));
+        }
+        append(lines);
+    }
+
+    // --- Sincronização com o Banco ---
+
+    /**
+     * Incorpora um perfil como está no banco. As estatísticas só crescem,
+     * então cada campo fica com o maior valor entre o local e o do banco
+     * (o local pode estar à frente, com resultados ainda na fila de gravação).
+     */
+    synchronized void applyServerProfile(PlayerProfile serverProfile) {
+        PlayerProfile merged = mergeServerProfile(serverProfile);
+        if (merged != null) {
+            append(profileLine(merged));
+        }
+    }
+
+    /**
+     * Incorpora uma página de perfis lida do banco por uma sincronização.
+     */
+    synchronized void applyServerProfiles(List<PlayerProfile> serverProfiles) {
+        List<String> lines = new ArrayList<>();
+        for (PlayerProfile serverProfile : serverProfiles) {
+            PlayerProfile merged = mergeServerProfile(serverProfile);
+            if (merged != null) lines.add(profileLine(merged));
+        }
+        append(lines);
+    }
+
+    /**
+     * Incorpora o topo do ranking 1P lido do banco e refaz os rankings
+     * (último passo de uma sincronização, depois dos perfis).
+     */
+    synchronized void applyServerRankings(List<SoloScoreEntry> serverSolo) {
+        List<String> lines = new ArrayList<>();
+        for (SoloScoreEntry entry : serverSolo) {
+            if (putSoloBest(entry)) lines.add(soloLine(entry));
+        }
+        rebuildRankings();
+        synced = true;
+        append(lines);
+    }
+
+    /**
+     * Perfis criados offline que ainda não existem no banco.
+     */
+    synchronized List<PlayerProfile> getLocalOnlyProfiles() {
+        List<PlayerProfile> localOnly = new ArrayList<>();
+        for (PlayerProfile profile : profilesById.values()) {
+            if (profile.getUserID() < 0) localOnly.add(profile.copy());
+        }
+        return localOnly;
+    }
+
+    /**
+     * Liga um perfil criado offline ao perfil do banco com o mesmo nome.
+     * As estatísticas locais são somadas às do banco: os resultados que as
+     * geraram estão na fila de gravação e chegam ao banco com o novo UserID.
+     */
+    synchronized void bindServerProfile(int localID, PlayerProfile serverProfile) {
+        PlayerProfile local = removeProfile(localID);
+        if (local == null) return;
+
+        PlayerProfile bound = new PlayerProfile(
+            serverProfile.getUserID(), serverProfile.getUsername(),
+            serverProfile.getGamesPlayed1P() + local.getGamesPlayed1P(),
+            Math.max(serverProfile.getHighScore1P(), local.getHighScore1P()),
+            serverProfile.getTotalScore1P() + local.getTotalScore1P(),
+            serverProfile.getGamesPlayed2P() + local.getGamesPlayed2P(),
+            serverProfile.getWins2P() + local.getWins2P(),
+            serverProfile.getLosses2P() + local.getLosses2P());
+        serverIds.put(localID, bound.getUserID());
+        putProfile(bound);
+        append(List.of(aliasLine(localID, bound.getUserID()), profileLine(bound)));
+        System.out.println("LocalStore: Perfil '" + bound.getUsername() + "' sincronizado (ID local "
+                           + localID + " -> " + bound.getUserID() + ")");
+    }
+
+    /**
+     * UserID definitivo de um perfil (o próprio id, ou o do banco se o
+     * perfil foi criado offline e já sincronizado). Continua negativo se
+     * ainda não foi sincronizado.
+     */
+    synchronized int resolveUserID(int userID) {
+        return serverIds.getOrDefault(userID, userID);
+    }
+
+    // --- Ciclo de Vida ---
+
+    /**
+     * Termina os acréscimos pendentes no disco e encerra a thread.
+     */
+    void shutdown() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.err.println("LocalStore: Gravações locais não terminaram a tempo.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // --- Índices ---
+
+    /**
+     * Junta um perfil do banco ao local (campo a campo, o maior).
+     * @return O perfil resultante, ou null se nada mudou.
+     */
+    private PlayerProfile mergeServerProfile(PlayerProfile serverProfile) {
+        PlayerProfile local = profilesById.get(serverProfile.getUserID());
+        PlayerProfile merged = serverProfile.copy();
+        if (local != null) {
+            merged = new PlayerProfile(
+                serverProfile.getUserID(), serverProfile.getUsername(),
+                Math.max(serverProfile.getGamesPlayed1P(), local.getGamesPlayed1P()),
+                Math.max(serverProfile.getHighScore1P(), local.getHighScore1P()),
+                Math.max(serverProfile.getTotalScore1P(), local.getTotalScore1P()),
+                Math.max(serverProfile.getGamesPlayed2P(), local.getGamesPlayed2P()),
+                Math.max(serverProfile.getWins2P(), local.getWins2P()),
+                Math.max(serverProfile.getLosses2P(), local.getLosses2P()));
+            if (sameProfile(local, merged)) return null;
+        }
+        putProfile(merged);
+        return merged;
+    }
+
+    private void putProfile(PlayerProfile profile) {
+        PlayerProfile previous = profilesById.put(profile.getUserID(), profile);
+        boolean renamed = previous != null && !nameKey(previous.getUsername()).equals(nameKey(profile.getUsername()));
+        if (renamed) {
+            profilesByName.remove(nameKey(previous.getUsername()));
+        }
+        profilesByName.put(nameKey(profile.getUsername()), profile);
+        rankings.recordWins(profile.getUsername(), profile.getWins2P());
+        // Se só as estatísticas mudaram, o índice por nome continua válido
+        if (previous == null || renamed) {
+            sortedKeys = null;
+        }
+    }
+
+    /**
+     * Tira um perfil de todos os índices (ex: um perfil criado offline que
+     * foi ligado ao do banco).
+     * @return O perfil removido, ou null se não existia.
+     */
+    private PlayerProfile removeProfile(int userID) {
+        PlayerProfile removed = profilesById.remove(userID);
+        if (removed == null) return null;
+        String key = nameKey(removed.getUsername());
+        if (profilesByName.get(key) == removed) {
+            profilesByName.remove(key);
+        }
+        sortedKeys = null;
+        return removed;
+    }
+
+    /**
+     * Refaz o índice por nome, se necessário.
+     */
+    private void ensureNameIndex() {
+        if (sortedKeys != null) return;
+        List<PlayerProfile> sorted = new ArrayList<>(profilesById.values());
+        sorted.sort(Comparator.comparing(profile -> nameKey(profile.getUsername())));
+        sortedKeys = new String[sorted.size()];
+        sortedIds = new int[sorted.size()];
+        for (int i = 0; i < sorted.size(); i++) {
+            sortedKeys[i] = nameKey(sorted.get(i).getUsername());
+            sortedIds[i] = sorted.get(i).getUserID();
+        }
+    }
+
+    /**
+     * Primeira posição do índice por nome com nome >= key.
+     */
+    private int lowerBound(String key) {
+        int low = 0, high = sortedKeys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedKeys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Guarda a pontuação se for a melhor do jogador.
+     */
+    private boolean putSoloBest(SoloScoreEntry entry) {
+        if (entry.score() <= 0) return false;
+        SoloScoreEntry current = soloBest.get(nameKey(entry.username()));
+        if (current != null && current.score() >= entry.score()) return false;
+        soloBest.put(nameKey(entry.username()), entry);
+        rankings.recordSoloScore(entry);
+        return true;
+    }
+
+    /**
+     * Refaz os rankings a partir dos índices completos.
+     */
+    private void rebuildRankings() {
+        List<PlayerWinsEntry> wins = new ArrayList<>();
+        for (PlayerProfile profile : profilesById.values()) {
+            if (profile.getWins2P() > 0) {
+                wins.add(new PlayerWinsEntry(profile.getUsername(), profile.getWins2P()));
+            }
+        }
+        rankings.reconcile(new ArrayList<>(soloBest.values()), wins);
+    }
+
+    private static boolean sameProfile(PlayerProfile a, PlayerProfile b) {
+        return a.getUserID() == b.getUserID()
+            && a.getUsername().equals(b.getUsername())
+            && a.getGamesPlayed1P() == b.getGamesPlayed1P()
+            && a.getHighScore1P() == b.getHighScore1P()
+            && a.getTotalScore1P() == b.getTotalScore1P()
+            && a.getGamesPlayed2P() == b.getGamesPlayed2P()
+            && a.getWins2P() == b.getWins2P()
+            && a.getLosses2P() == b.getLosses2P();
+    }
+
+    /**
+     * Nomes de usuário não diferenciam maiúsculas (como no SQL Server).
+     */
+    static String nameKey(String username) {
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // --- Log em Disco ---
+
+    /**
+     * Lê o log e monta os índices (na thread "tetris-store").
+     */
+    private void load() {
+        try {
+            if (file == null || !Files.exists(file)) return;
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            int live;
+            synchronized (this) {
+                for (String line : lines) {
+                    if (line.isBlank()) continue;
+                    if (!applyLine(line)) {
+                        System.err.println("LocalStore: Linha inválida no log ignorada: " + line);
+                    }
+                }
+                rebuildRankings();
+                live = profilesById.size() + soloBest.size() + serverIds.size();
+                System.out.println("LocalStore: " + profilesById.size() + " perfil(is) carregados do disco.");
+            }
+            if (lines.size() > Math.max(COMPACT_MIN_LINES, 2 * live)) {
+                compact();
+            }
+        } catch (IOException e) {
+            System.err.println("LocalStore: Erro ao ler " + file + ": " + e.getMessage());
+        } finally {
+            loaded.countDown();
+        }
+    }
+
+    /**
+     * Aplica uma linha do log aos índices.
+     * @return false se a linha for inválida (ex: arquivo truncado).
+     */
+    private boolean applyLine(String line) {
+        try {
+            if (line.startsWith(PROFILE_TAG + ";")) {
+                String[] f = line.split(";", 9);
+                if (f.length != 9) return false;
+                putProfile(new PlayerProfile(
+                    Integer.parseInt(f[1]), f[8],
+                    Integer.parseInt(f[2]), Integer.parseInt(f[3]), Long.parseLong(f[4]),
+                    Integer.parseInt(f[5]), Integer.parseInt(f[6]), Integer.parseInt(f[7])));
+                nextLocalId = Math.min(nextLocalId, Integer.parseInt(f[1]) - 1);
+                return true;
+            }
+            if (line.startsWith(SOLO_TAG + ";")) {
+                String[] f = line.split(";", 7);
+                if (f.length != 7) return false;
+                putSoloBest(new SoloScoreEntry(
+                    f[6], Integer.parseInt(f[1]), Integer.parseInt(f[2]), Integer.parseInt(f[3]),
+                    Integer.parseInt(f[4]), new Date(Long.parseLong(f[5]))));
+                return true;
+            }
+            if (line.startsWith(ALIAS_TAG + ";")) {
+                String[] f = line.split(";");
+                if (f.length != 3) return false;
+                int localID = Integer.parseInt(f[1]);
+                serverIds.put(localID, Integer.parseInt(f[2]));
+                removeProfile(localID);
+                // A compactação não guarda a linha P de um perfil já ligado: o id local continua em uso
+                nextLocalId = Math.min(nextLocalId, localID - 1);
+                return true;
+            }
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        return false;
+    }
+
+    /**
+     * Reescreve o log só com o estado atual (troca atômica de arquivo).
+     */
+    private void compact() throws IOException {
+        List<String> lines = new ArrayList<>();
+        synchronized (this) {
+            for (Map.Entry<Integer, Integer> alias : serverIds.entrySet()) {
+                lines.add(aliasLine(alias.getKey(), alias.getValue()));
+            }
+            for (PlayerProfile profile : profilesById.values()) {
+                lines.add(profileLine(profile));
+            }
+            for (SoloScoreEntry entry : soloBest.values()) {
+                lines.add(soloLine(entry));
+            }
+        }
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.DSYNC);
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        System.out.println("LocalStore: Log compactado (" + lines.size() + " entradas).");
+    }
+
+    private void append(String line) {
+        append(List.of(line));
+    }
+
+    /**
+     * Acrescenta entradas ao log na thread "tetris-store" (na ordem em que
+     * foram geradas, já que só há uma thread).
+     */
+    private void append(List<String> lines) {
+        if (lines.isEmpty() || file == null) return;
+        List<String> snapshot = List.copyOf(lines);
+        try {
+            writer.execute(() -> {
+                try {
+                    Files.write(file, snapshot, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+                } catch (IOException e) {
+                    System.err.println("LocalStore: Erro ao gravar " + file + ": " + e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            System.err.println("LocalStore: Armazenamento encerrado, alteração não gravada no disco.");
+        }
+    }
+
+    private static String profileLine(PlayerProfile p) {
+        return PROFILE_TAG + ";" + p.getUserID() + ";" + p.getGamesPlayed1P() + ";" + p.getHighScore1P()
+            + ";" + p.getTotalScore1P() + ";" + p.getGamesPlayed2P() + ";" + p.getWins2P()
+            + ";" + p.getLosses2P() + ";" + p.getUsername();
+    }
+
+    private static String soloLine(SoloScoreEntry e) {
+        long millis = (e.date() != null) ? e.date().getTime() : 0L;
+        return SOLO_TAG + ";" + e.score() + ";" + e.level() + ";" + e.linesCleared() + ";"
+            + e.tetrisCount() + ";" + millis + ";" + e.username();
+    }
+
+    private static String aliasLine(int localID, int serverID) {
+        return ALIAS_TAG + ";" + localID + ";" + serverID;
+    }
+}
@@ -0,0 +1,9 @@
+package com.tetris.database;
+
+/**
+ * Perfis do vencedor e do perdedor já atualizados após o registro de uma partida 2P.
+ */
+public record MatchOutcome(
+    PlayerProfile winner,
+    PlayerProfile loser
+) {}
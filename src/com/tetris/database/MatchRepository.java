@@ -0,0 +1,28 @@
+package com.tetris.database;
+
+import java.util.List;
+
+/**
+ * Repositório das partidas 2P (tabela MultiplayerMatches).
+ * Implementações: {@link MultiplayerMatchDAO} (SQL Server) e
+ * {@link InMemoryStorage} (memória, sem banco).
+ */
+public interface MatchRepository {
+
+    /**
+     * Registra só a partida (sem mexer nos perfis).
+     */
+    void recordMatch(int winnerID, int loserID, int winnerScore, int loserScore);
+
+    /**
+     * Registra a partida e conta a vitória e a derrota nos perfis, de forma atômica.
+     * @return Os perfis atualizados, ou null se falhar (nada é gravado).
+     */
+    MatchOutcome recordMatchResult(int winnerID, int loserID, int winnerScore, int loserScore);
+
+    /**
+     * Ranking 2P detalhado (quem jogou ao menos uma partida), por vitórias e
+     * depois por aproveitamento.
+     */
+    List<RankingEntry2P> getTopPlayers(int limit);
+}
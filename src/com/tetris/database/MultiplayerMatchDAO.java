@@ -10,19 +10,57 @@ import java.util.List;
 /**
  * DAO para a tabela MultiplayerMatches.
  */
-public class MultiplayerMatchDAO {
+public class MultiplayerMatchDAO implements MatchRepository {
 
-    private Connection connection;
+    private static final String INSERT_MATCH_SQL =
+        "INSERT INTO MultiplayerMatches (WinnerID, LoserID, WinnerScore, LoserScore) " +
+        "VALUES (?, ?, ?, ?)";
+
+    // Corpo de MATCH_RESULT_SQL: registra a partida e atualiza os dois perfis
+    // com um só UPDATE, devolvendo os perfis atualizados pela cláusula OUTPUT
+    private static final String MATCH_RESULT_BODY =
+        "INSERT INTO MultiplayerMatches (WinnerID, LoserID, WinnerScore, LoserScore) " +
+        "VALUES (@WinnerID, @LoserID, @WinnerScore, @LoserScore); " +
+        "UPDATE PlayerProfiles " +
+        "SET GamesPlayed_2P = GamesPlayed_2P + 1, " +
+        "    Wins_2P = Wins_2P + CASE WHEN UserID = @WinnerID THEN 1 ELSE 0 END, " +
+        "    Losses_2P = Losses_2P + CASE WHEN UserID = @LoserID THEN 1 ELSE 0 END " +
+        PlayerProfileDAO.PROFILE_OUTPUT_COLUMNS +
+        "WHERE UserID IN (@WinnerID, @LoserID);";
+
+    /**
+     * Resultado completo de uma partida 2P em um único comando (partida +
+     * os dois perfis, ver MATCH_RESULT_BODY).
+     * Parâmetros: winnerID, loserID, winnerScore, loserScore.
+     *
+     * Roda dentro de sp_executesql para que os SET (NOCOUNT, XACT_ABORT)
+     * valham só para este comando: as conexões vêm do pool e são reusadas
+     * pelos outros DAOs, e um SET direto ficaria na conexão (mesmo quando
+     * um erro interrompe o comando antes de um "SET ... OFF" no fim).
+     */
+    static final String MATCH_RESULT_SQL = matchResultSql(MATCH_RESULT_BODY);
+
+    // O mesmo, com a própria transação (para quem não está em uma)
+    private static final String MATCH_RESULT_TRANSACTION_SQL = matchResultSql(
+        "SET XACT_ABORT ON; BEGIN TRANSACTION; " + MATCH_RESULT_BODY + " COMMIT TRANSACTION;");
+
+    private static String matchResultSql(String body) {
+        return "EXEC sp_executesql N'SET NOCOUNT ON; " + body + "', " +
+               "N'@WinnerID INT, @LoserID INT, @WinnerScore INT, @LoserScore INT', ?, ?, ?, ?";
+    }
+
+    private final DatabaseManager database;
 
     public MultiplayerMatchDAO() {
-        this.connection = DatabaseManager.getInstance().getConnection();
+        this.database = DatabaseManager.getInstance();
     }
 
+    @Override
     public void recordMatch(int winnerID, int loserID, int winnerScore, int loserScore) {
-        String sql = "INSERT INTO MultiplayerMatches (WinnerID, LoserID, WinnerScore, LoserScore) " +
-                     "VALUES (?, ?, ?, ?)";
+        String sql = INSERT_MATCH_SQL;
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, winnerID);
             pstmt.setInt(2, loserID);
             pstmt.setInt(3, winnerScore);
@@ -36,6 +74,63 @@ public class MultiplayerMatchDAO {
         }
     }
 
+    /**
+     * Registra a partida e atualiza as estatísticas 2P de ambos em UMA ida e
+     * volta ao servidor, dentro de uma transação (a partida e os contadores
+     * de vitória/derrota nunca ficam inconsistentes).
+     * @return Os perfis atualizados, ou null se falhar (nada é gravado).
+     */
+    @Override
+    public MatchOutcome recordMatchResult(int winnerID, int loserID, int winnerScore, int loserScore) {
+        // A transação vai no próprio comando, para não custar idas e voltas extras
+        String sql = MATCH_RESULT_TRANSACTION_SQL;
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            MatchOutcome outcome = executeMatchResult(pstmt, winnerID, loserID, winnerScore, loserScore);
+            System.out.println("MultiplayerMatchDAO: Partida registrada - Vencedor: " + winnerID);
+            return outcome;
+
+        } catch (SQLException e) {
+            System.err.println("Erro ao registrar resultado 2P: " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Executa um comando preparado com MATCH_RESULT_SQL e lê os perfis da
+     * cláusula OUTPUT. (Usado também pelo GameResultDAO, dentro do seu lote.)
+     */
+    static MatchOutcome executeMatchResult(PreparedStatement pstmt, int winnerID, int loserID,
+                                           int winnerScore, int loserScore) throws SQLException {
+        pstmt.setInt(1, winnerID);
+        pstmt.setInt(2, loserID);
+        pstmt.setInt(3, winnerScore);
+        pstmt.setInt(4, loserScore);
+
+        PlayerProfile winner = null, loser = null;
+        // Procura o resultado da cláusula OUTPUT entre os resultados do comando
+        boolean isResultSet = pstmt.execute();
+        while (isResultSet || pstmt.getUpdateCount() != -1) {
+            if (isResultSet) {
+                try (ResultSet rs = pstmt.getResultSet()) {
+                    while (rs.next()) {
+                        PlayerProfile profile = PlayerProfileDAO.mapRowToPlayerProfile(rs);
+                        if (profile.getUserID() == winnerID) winner = profile;
+                        else loser = profile;
+                    }
+                }
+            }
+            isResultSet = pstmt.getMoreResults();
+        }
+
+        if (winner == null || loser == null) {
+            throw new SQLException("Perfis da partida não encontrados (IDs " + winnerID + ", " + loserID + ").");
+        }
+        return new MatchOutcome(winner, loser);
+    }
+
+    @Override
     public List<RankingEntry2P> getTopPlayers(int limit) {
         List<RankingEntry2P> ranking = new ArrayList<>();
         
@@ -50,7 +145,8 @@ public class MultiplayerMatchDAO {
                      "WHERE GamesPlayed_2P > 0 " +
                      "ORDER BY Wins_2P DESC, WinRate DESC";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, limit);
             
             try (ResultSet rs = pstmt.executeQuery()) {
@@ -0,0 +1,469 @@
+package com.tetris.database;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Camada de persistência do jogo, "offline primeiro": todas as leituras
+ * (perfis e rankings) vêm do {@link LocalStore}, um armazenamento local em
+ * disco com índices em memória, e o SQL Server é replicado em segundo plano
+ * quando está disponível. Uma queda do banco não impede escolher ou criar
+ * perfis, jogar, nem ver os rankings.
+ *
+ * - Escritas: aplicadas na hora ao armazenamento local; os resultados vão
+ *   para a {@link ResultWriteQueue}, que os grava no banco em lote.
+ * - Sincronização: na inicialização e periodicamente, os perfis e o topo
+ *   do ranking 1P são lidos do banco (resultados de outros clientes) e os
+ *   perfis criados offline são criados lá.
+ * - Logins: escolher um perfil não vai ao banco; o LastLogin é anotado e
+ *   gravado depois, em lote (um por jogador, o mais recente).
+ *
+ * O banco é um {@link StorageBackend}: o SQL Server por padrão, ou um
+ * armazenamento em memória (-Dtetris.storage=memory, ou o construtor que
+ * recebe o backend), para rodar sem banco.
+ *
+ * As operações que precisam do banco rodam em uma thread dedicada
+ * ("tetris-db"), uma de cada vez, na ordem em que foram pedidas; cada uma
+ * empresta sua própria conexão do pool do DatabaseManager. Leituras locais
+ * devolvem futures já completos.
+ *
+ * Os futures podem ser completados na thread do banco; quem os consome deve
+ * sincronizar o acesso ao próprio estado (ver GameController).
+ */
+public class PersistenceService {
+
+    /**
+     * Situação do banco, para a interface mostrar (ex: no menu principal).
+     */
+    public enum Status {
+        CONNECTING,  // Conexão inicial em andamento
+        SYNCING,     // Conectado; primeira sincronização com o armazenamento local
+        READY,       // Conectado e sincronizado
+        OFFLINE      // Sem banco (o jogo usa só o armazenamento local)
+    }
+
+    // Tempo máximo esperando gravações pendentes ao encerrar a aplicação
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+    // Intervalo entre sincronizações do armazenamento local com o banco
+    private static final long SYNC_INTERVAL_MINUTES = 5;
+    // Perfis lidos do banco por consulta na sincronização (paginação por nome)
+    private static final int SYNC_PAGE_SIZE = 500;
+    // Intervalo entre gravações dos LastLogin pendentes
+    private static final long LAST_LOGIN_FLUSH_SECONDS = 30;
+    // Propriedade da JVM que escolhe o armazenamento ("sqlserver" ou "memory")
+    private static final String STORAGE_PROPERTY = "tetris.storage";
+
+    /**
+     * Como criar o armazenamento e quais arquivos locais usar (null = nenhum).
+     */
+    private record StorageConfig(Supplier<StorageBackend> backendFactory, Path storeFile, Path spoolFile) {}
+
+    private final ScheduledExecutorService executor;
+
+    // Perfis e rankings (todas as leituras vêm daqui)
+    private final LocalStore store;
+    // Resultados de partidas: gravados no banco em lote, em segundo plano
+    private final ResultWriteQueue resultQueue;
+    private Consumer<MatchOutcome> matchOutcomeListener = outcome -> {};
+    // LastLogin ainda não gravados (UserID -> momento do login; protegido por si mesmo)
+    private final Map<Integer, Date> pendingLastLogins = new HashMap<>();
+
+    private volatile Status status = Status.CONNECTING;
+    private volatile Consumer<Status> statusListener = newStatus -> {};
+
+    // Criado na thread do banco (o primeiro acesso ao DatabaseManager conecta)
+    private StorageBackend backend;
+
+    /**
+     * Usa o armazenamento escolhido por -Dtetris.storage (padrão: SQL Server,
+     * com armazenamento local e spool em disco).
+     */
+    public PersistenceService() {
+        this(configFromProperty());
+    }
+
+    /**
+     * Usa um armazenamento já criado (ex: {@link InMemoryStorage}), sem
+     * arquivos locais: nada é gravado em disco por esta instância.
+     */
+    public PersistenceService(StorageBackend backend) {
+        this(new StorageConfig(() -> backend, null, null));
+    }
+
+    private PersistenceService(StorageConfig config) {
+        this.store = new LocalStore(config.storeFile());
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tetris-db");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Conexão inicial (driver JDBC, handshake TLS) fora do EDT
+        executor.execute(() -> {
+            try {
+                this.backend = config.backendFactory().get();
+                setStatus(backend.isAvailable() ? Status.SYNCING : Status.OFFLINE);
+            } catch (RuntimeException | LinkageError e) {
+                // Ex: config.properties ausente (erro na inicialização do DatabaseManager)
+                System.err.println("PersistenceService: Banco de dados indisponível: " + e);
+                setStatus(Status.OFFLINE);
+            }
+        });
+        // Sincronização inicial e periódica
+        executor.scheduleWithFixedDelay(this::synchronize,
+            0, SYNC_INTERVAL_MINUTES, TimeUnit.MINUTES);
+        executor.scheduleWithFixedDelay(this::flushLastLogins,
+            LAST_LOGIN_FLUSH_SECONDS, LAST_LOGIN_FLUSH_SECONDS, TimeUnit.SECONDS);
+
+        this.resultQueue = new ResultWriteQueue(config.backendFactory(), config.spoolFile());
+        resultQueue.setUserIdResolver(store::resolveUserID);
+        resultQueue.setMatchListener(outcome -> {
+            // Junta ao local o que o banco devolveu (o local pode estar à frente)
+            store.applyServerProfile(outcome.winner());
+            store.applyServerProfile(outcome.loser());
+            matchOutcomeListener.accept(new MatchOutcome(
+                orElse(store.findById(outcome.winner().getUserID()), outcome.winner()),
+                orElse(store.findById(outcome.loser().getUserID()), outcome.loser())));
+        });
+
+        // Garante que o resultado da última partida seja gravado ao fechar a janela
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "tetris-db-shutdown"));
+    }
+
+    // --- Perfis ---
+
+    /**
+     * Busca um perfil pelo nome, no armazenamento local (sem ir ao banco e
+     * sem mexer no LastLogin). Completa com null se não existir. Só espera
+     * pela primeira sincronização se ainda não há nada guardado localmente.
+     */
+    public CompletableFuture<PlayerProfile> findUserByUsername(String username) {
+        if (hasLocalData()) {
+            return CompletableFuture.completedFuture(store.findByUsername(username));
+        }
+        return submit("buscar perfil", () -> {
+            store.awaitLoaded();
+            return store.findByUsername(username);
+        });
+    }
+
+    /**
+     * Registra que o jogador escolheu este perfil: o LastLogin é gravado no
+     * banco depois, em segundo plano.
+     * @return A versão mais recente do perfil (do armazenamento local), ou o
+     *         próprio perfil recebido se ele não estiver lá.
+     */
+    public PlayerProfile recordLogin(PlayerProfile profile) {
+        synchronized (pendingLastLogins) {
+            pendingLastLogins.put(profile.getUserID(), new Date());
+        }
+        PlayerProfile cached = store.isLoaded() ? store.findById(profile.getUserID()) : null;
+        return (cached != null) ? cached : profile;
+    }
+
+    /**
+     * Busca um perfil pelo nome ou o cria. Completa com null se o nome for inválido.
+     * Sem banco, o perfil é criado localmente e enviado ao banco na próxima
+     * sincronização.
+     */
+    public CompletableFuture<PlayerProfile> findOrCreatePlayer(String username) {
+        return submit("buscar/criar perfil", () -> {
+            if (username == null || username.trim().isEmpty()) {
+                return null; // Nomes vazios não são permitidos
+            }
+            store.awaitLoaded();
+            if (isOnline()) {
+                PlayerProfile server = backend.profiles().findOrCreatePlayer(username);
+                if (server != null) {
+                    store.applyServerProfile(server);
+                    return store.findById(server.getUserID());
+                }
+            }
+            PlayerProfile local = store.findByUsername(username);
+            return (local != null) ? local : store.createLocalProfile(username);
+        });
+    }
+
+    /**
+     * Todos os perfis (ordenados por nome), do armazenamento local. Só espera
+     * pela primeira sincronização se ainda não há nada guardado localmente.
+     */
+    public CompletableFuture<List<PlayerProfile>> getAllPlayerProfiles() {
+        if (hasLocalData()) {
+            return CompletableFuture.completedFuture(store.getAllProfiles());
+        }
+        return submit("listar perfis", () -> {
+            store.awaitLoaded();
+            return store.getAllProfiles();
+        });
+    }
+
+    /**
+     * Uma página dos perfis cujo nome começa com 'prefix' (sem diferenciar
+     * maiúsculas; "" = todos), em ordem de nome, do armazenamento local.
+     * Usado pela tela de seleção de perfil, que só busca as linhas visíveis.
+     * @param offset Posição do primeiro perfil da página entre os encontrados.
+     */
+    public CompletableFuture<ProfilePage> searchProfiles(String prefix, int offset, int limit) {
+        if (hasLocalData()) {
+            return CompletableFuture.completedFuture(store.searchProfiles(prefix, offset, limit));
+        }
+        return submit("buscar perfis", () -> {
+            store.awaitLoaded();
+            return store.searchProfiles(prefix, offset, limit);
+        });
+    }
+
+    /**
+     * Grava no banco, em um lote, os LastLogin anotados por recordLogin (na
+     * thread do banco). Perfis criados offline esperam a sincronização; se o
+     * banco falhar, os logins voltam para a próxima tentativa.
+     */
+    private void flushLastLogins() {
+        if (!isOnline()) return;
+        Map<Integer, Date> batch = new HashMap<>();
+        synchronized (pendingLastLogins) {
+            Iterator<Map.Entry<Integer, Date>> it = pendingLastLogins.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Integer, Date> login = it.next();
+                int userID = store.resolveUserID(login.getKey());
+                if (userID < 0) continue; // Perfil ainda só local
+                batch.put(userID, login.getValue());
+                it.remove();
+            }
+        }
+        if (batch.isEmpty()) return;
+
+        try {
+            backend.profiles().updateLastLogins(batch);
+        } catch (SQLException | RuntimeException e) {
+            System.err.println("PersistenceService: Erro ao gravar LastLogin: " + e.getMessage());
+            synchronized (pendingLastLogins) {
+                // Um login mais novo, feito enquanto o lote era gravado, tem preferência
+                batch.forEach(pendingLastLogins::putIfAbsent);
+            }
+        }
+    }
+
+    // --- Resultados de Partidas ---
+
+    /**
+     * Salva o resultado de uma partida 1P: a pontuação e as estatísticas do perfil.
+     * O armazenamento local (perfil e ranking) é atualizado na hora; o
+     * resultado entra na fila de gravação em lote do banco, e o future
+     * completa quando ele está seguro no spool local (não quando chega ao banco).
+     */
+    public CompletableFuture<Void> saveSoloResult(PlayerProfile player, int score, int level, int lines, int tetrisCount) {
+        store.recordSoloResult(player.getUserID(), score, level, lines, tetrisCount);
+        return resultQueue.enqueue(new GameResult.SoloResult(player.getUserID(), score, level, lines, tetrisCount));
+    }
+
+    /**
+     * Salva o resultado de uma partida 2P: estatísticas de ambos e o registro da partida.
+     * (Como saveSoloResult; os perfis como ficaram no banco chegam depois
+     * pelo listener de setMatchOutcomeListener.)
+     */
+    public CompletableFuture<Void> saveMatchResult(PlayerProfile winner, PlayerProfile loser, int winnerScore, int loserScore) {
+        store.recordMatchResult(winner.getUserID(), loser.getUserID());
+        return resultQueue.enqueue(
+            new GameResult.MatchResult(winner.getUserID(), loser.getUserID(), winnerScore, loserScore));
+    }
+
+    /**
+     * Define quem recebe os perfis atualizados do vencedor e do perdedor
+     * quando uma partida 2P é confirmada no banco (chamado na thread de gravação).
+     */
+    public void setMatchOutcomeListener(Consumer<MatchOutcome> listener) {
+        this.matchOutcomeListener = listener;
+    }
+
+    // --- Rankings ---
+
+    /**
+     * Top 1P (melhor pontuação de cada jogador), do armazenamento local.
+     */
+    public CompletableFuture<List<SoloScoreEntry>> getTopSoloScores(int limit) {
+        if (hasLocalData()) {
+            return CompletableFuture.completedFuture(store.getTopSoloScores(limit));
+        }
+        return submit("ler ranking 1P", () -> {
+            store.awaitLoaded();
+            return store.getTopSoloScores(limit);
+        });
+    }
+
+    /**
+     * Top 2P por vitórias, do armazenamento local (como getTopSoloScores).
+     */
+    public CompletableFuture<List<PlayerWinsEntry>> getTopPlayerWins(int limit) {
+        if (hasLocalData()) {
+            return CompletableFuture.completedFuture(store.getTopPlayerWins(limit));
+        }
+        return submit("ler ranking 2P", () -> {
+            store.awaitLoaded();
+            return store.getTopPlayerWins(limit);
+        });
+    }
+
+    // --- Sincronização ---
+
+    /**
+     * Lê do banco os perfis e o topo do ranking 1P (resultados de outros
+     * clientes) e cria lá os perfis criados offline. Os perfis vêm em páginas
+     * de SYNC_PAGE_SIZE, por ordem de nome (sem um único resultado com a
+     * tabela inteira). Se o banco não responder, o armazenamento local
+     * continua valendo até a próxima tentativa.
+     */
+    private void synchronize() {
+        store.awaitLoaded();
+        if (backend == null) {
+            setStatus(Status.OFFLINE);
+            return;
+        }
+        try {
+            String after = "";
+            List<PlayerProfile> page;
+            do {
+                page = backend.profiles().queryProfilesPage(after, SYNC_PAGE_SIZE);
+                store.applyServerProfiles(page);
+                if (!page.isEmpty()) after = page.get(page.size() - 1).getUsername();
+            } while (page.size() == SYNC_PAGE_SIZE);
+            store.applyServerRankings(backend.soloScores().queryTopSoloScores(LeaderboardCache.CAPACITY));
+        } catch (SQLException | RuntimeException e) {
+            System.err.println("PersistenceService: Erro ao sincronizar com o banco: " + e.getMessage());
+            setStatus(Status.OFFLINE);
+            return;
+        }
+
+        // Uma exceção aqui cancelaria as próximas sincronizações (scheduleWithFixedDelay):
+        // um perfil com problema é pulado e tentado de novo na próxima
+        for (PlayerProfile local : store.getLocalOnlyProfiles()) {
+            try {
+                PlayerProfile server = backend.profiles().findOrCreatePlayer(local.getUsername());
+                if (server != null) {
+                    store.bindServerProfile(local.getUserID(), server);
+                } // Senão tenta de novo na próxima sincronização (o repositório já registrou o erro)
+            } catch (RuntimeException e) {
+                System.err.println("PersistenceService: Erro ao enviar o perfil local '"
+                                   + local.getUsername() + "' ao banco: " + e);
+            }
+        }
+        setStatus(Status.READY);
+    }
+
+    /**
+     * true se as leituras podem ser respondidas na hora pelo armazenamento
+     * local (sem esperar a primeira sincronização).
+     */
+    private boolean hasLocalData() {
+        return store.isLoaded() && (store.hasData() || status == Status.OFFLINE);
+    }
+
+    /**
+     * true se vale a pena tentar o banco (o armazenamento foi criado e a
+     * última sincronização não falhou).
+     */
+    private boolean isOnline() {
+        return backend != null && status != Status.OFFLINE;
+    }
+
+    /**
+     * O armazenamento escolhido por -Dtetris.storage: "memory" (sem banco e
+     * sem arquivos locais) ou o SQL Server (padrão).
+     */
+    private static StorageConfig configFromProperty() {
+        if ("memory".equalsIgnoreCase(System.getProperty(STORAGE_PROPERTY, "sqlserver"))) {
+            System.out.println("PersistenceService: Usando armazenamento em memória (sem banco de dados).");
+            InMemoryStorage memory = new InMemoryStorage();
+            return new StorageConfig(() -> memory, null, null);
+        }
+        return new StorageConfig(SqlServerStorage::new, LocalStore.DEFAULT_FILE, ResultWriteQueue.DEFAULT_SPOOL_FILE);
+    }
+
+    private static PlayerProfile orElse(PlayerProfile profile, PlayerProfile fallback) {
+        return (profile != null) ? profile : fallback;
+    }
+
+    // --- Situação ---
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Define quem é avisado (na thread do banco) quando a situação muda.
+     */
+    public void setStatusListener(Consumer<Status> listener) {
+        this.statusListener = listener;
+    }
+
+    private void setStatus(Status newStatus) {
+        if (newStatus != status) {
+            status = newStatus;
+            System.out.println("PersistenceService: Banco " + newStatus);
+            statusListener.accept(newStatus);
+        }
+    }
+
+    // --- Ciclo de Vida ---
+
+    /**
+     * Para de aceitar operações, espera (por um tempo limitado) as pendentes,
+     * grava o último lote de resultados e os LastLogin, termina as gravações locais e
+     * fecha o armazenamento (no SQL Server, o pool de conexões).
+     */
+    public void shutdown() {
+        resultQueue.shutdown();
+        try {
+            executor.execute(this::flushLastLogins);
+        } catch (RejectedExecutionException e) {
+            return; // Já encerrado
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.err.println("PersistenceService: Operações pendentes não terminaram a tempo.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        store.shutdown();
+        if (backend != null) {
+            backend.close();
+        }
+    }
+
+    /**
+     * Executa a operação na thread do banco. Erros inesperados (os repositórios já
+     * tratam SQLException) são registrados e completam o future com exceção.
+     */
+    private <T> CompletableFuture<T> submit(String description, Supplier<T> operation) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(operation.get());
+                } catch (RuntimeException e) {
+                    System.err.println("PersistenceService: Erro ao " + description + ": " + e);
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            System.err.println("PersistenceService: Serviço encerrado, operação ignorada (" + description + ").");
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+}
@@ -35,9 +35,46 @@ public class PlayerProfile {
     
     public int getUserID() { return userID; }
     public String getUsername() { return username; }
+    public int getGamesPlayed1P() { return gamesPlayed1P; }
     public int getHighScore1P() { return highScore1P; }
+    public long getTotalScore1P() { return totalScore_1P; }
+    public int getGamesPlayed2P() { return gamesPlayed2P; }
     public int getWins2P() { return wins2P; }
-    
-    // Outros getters (getTotalScore1P, getLosses2P, etc.) podem ser
-    // adicionados se a UI precisar exibir estatísticas mais detalhadas.
+    public int getLosses2P() { return losses_2P; }
+
+    /**
+     * Cópia independente (usada pelo armazenamento local, que não entrega
+     * os próprios objetos a quem pode modificá-los).
+     */
+    public PlayerProfile copy() {
+        return new PlayerProfile(userID, username, gamesPlayed1P, highScore1P, totalScore_1P,
+                                 gamesPlayed2P, wins2P, losses_2P);
+    }
+
+    // --- Atualizações Locais ---
+    // Aplicam ao perfil em memória o mesmo que o banco fará quando o resultado
+    // da partida for gravado (em lote), sem precisar reler o perfil.
+
+    /**
+     * Registra uma partida 1P (mesma regra de PlayerProfileDAO.updateStats1P).
+     */
+    public void recordSoloGame(int finalScore) {
+        gamesPlayed1P++;
+        totalScore_1P += finalScore;
+        if (finalScore > highScore1P) {
+            highScore1P = finalScore;
+        }
+    }
+
+    /**
+     * Registra uma partida 2P como vitória ou derrota.
+     */
+    public void recordMatch(boolean won) {
+        gamesPlayed2P++;
+        if (won) {
+            wins2P++;
+        } else {
+            losses_2P++;
+        }
+    }
 }
\ No newline at end of file
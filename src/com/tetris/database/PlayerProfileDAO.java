@@ -5,19 +5,40 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Timestamp;
 import java.util.ArrayList; 
+import java.util.Date;
 import java.util.List;      
+import java.util.Map;
 
 /**
  * DAO (Data Access Object) para a tabela PlayerProfiles.
  * Lida com login, criação e atualização de estatísticas de perfis de jogador.
  */
-public class PlayerProfileDAO {
+public class PlayerProfileDAO implements PlayerProfileRepository {
 
-    private Connection connection;
+    // --- SQL compartilhado com outros DAOs ---
+
+    // Estatísticas 1P (também usado em lote pelo GameResultDAO).
+    // Usa CASE para atualizar condicionalmente o HighScore_1P
+    static final String UPDATE_STATS_1P_SQL =
+        "UPDATE PlayerProfiles " +
+        "SET GamesPlayed_1P = GamesPlayed_1P + 1, " +
+        "    TotalScore_1P = TotalScore_1P + ?, " +
+        "    HighScore_1P = CASE WHEN ? > HighScore_1P THEN ? ELSE HighScore_1P END " +
+        "WHERE UserID = ?";
+
+    // Colunas do perfil devolvidas pela cláusula OUTPUT de um UPDATE
+    // (na ordem esperada por 'mapRowToPlayerProfile')
+    static final String PROFILE_OUTPUT_COLUMNS =
+        "OUTPUT inserted.UserID, inserted.Username, inserted.GamesPlayed_1P, " +
+        "inserted.HighScore_1P, inserted.TotalScore_1P, " +
+        "inserted.GamesPlayed_2P, inserted.Wins_2P, inserted.Losses_2P ";
+
+    private final DatabaseManager database;
 
     public PlayerProfileDAO() {
-        this.connection = DatabaseManager.getInstance().getConnection();
+        this.database = DatabaseManager.getInstance();
     }
 
     /**
@@ -27,16 +48,16 @@ public class PlayerProfileDAO {
      * * @param username O nome a procurar.
      * @return Um objeto PlayerProfile se encontrado, ou null se não.
      */
+    @Override
     public PlayerProfile findUserByUsername(String username) {
         // A cláusula OUTPUT é usada para retornar os dados atualizados
         // (incluindo o novo LastLogin) em uma única operação.
         String sql = "UPDATE PlayerProfiles SET LastLogin = GETDATE() " +
-                     "OUTPUT inserted.UserID, inserted.Username, inserted.GamesPlayed_1P, " +
-                     "inserted.HighScore_1P, inserted.TotalScore_1P, " + 
-                     "inserted.GamesPlayed_2P, inserted.Wins_2P, inserted.Losses_2P " + 
+                     PROFILE_OUTPUT_COLUMNS +
                      "WHERE Username = ?";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, username);
             
             try (ResultSet rs = pstmt.executeQuery()) {
@@ -58,7 +79,8 @@ public class PlayerProfileDAO {
     private PlayerProfile createPlayer(String username) {
         String sql = "INSERT INTO PlayerProfiles (Username) VALUES (?)";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             pstmt.setString(1, username);
             pstmt.executeUpdate();
 
@@ -84,6 +106,7 @@ public class PlayerProfileDAO {
      * * @param username O nome do jogador.
      * @return O objeto PlayerProfile (existente ou recém-criado).
      */
+    @Override
     public PlayerProfile findOrCreatePlayer(String username) {
         if (username == null || username.trim().isEmpty()) {
             return null; // Nomes vazios não são permitidos
@@ -98,19 +121,36 @@ public class PlayerProfileDAO {
         }
     }
 
+    /**
+     * Grava o LastLogin de vários jogadores em um único batch JDBC (usado
+     * para gravar em segundo plano os logins feitos pelo armazenamento
+     * local, em vez de um UPDATE a cada escolha de perfil).
+     */
+    @Override
+    public void updateLastLogins(Map<Integer, Date> lastLogins) throws SQLException {
+        String sql = "UPDATE PlayerProfiles SET LastLogin = ? WHERE UserID = ?";
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            for (Map.Entry<Integer, Date> login : lastLogins.entrySet()) {
+                pstmt.setTimestamp(1, new Timestamp(login.getValue().getTime()));
+                pstmt.setInt(2, login.getKey());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
     /**
      * Atualiza as estatísticas de 1P de um jogador após o término de uma partida.
      * Incrementa jogos, soma ao total e atualiza o high score se necessário.
      */
+    @Override
     public void updateStats1P(int userID, int finalScore) {
-        // Usa CASE para atualizar condicionalmente o HighScore_1P
-        String sql = "UPDATE PlayerProfiles " +
-                     "SET GamesPlayed_1P = GamesPlayed_1P + 1, " +
-                     "    TotalScore_1P = TotalScore_1P + ?, " + 
-                     "    HighScore_1P = CASE WHEN ? > HighScore_1P THEN ? ELSE HighScore_1P END " +
-                     "WHERE UserID = ?";
+        String sql = UPDATE_STATS_1P_SQL;
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, finalScore); // para TotalScore_1P
             pstmt.setInt(2, finalScore); // para a condição CASE
             pstmt.setInt(3, finalScore); // para o valor CASE
@@ -124,7 +164,10 @@ public class PlayerProfileDAO {
     /**
      * Atualiza as estatísticas de 2P para o vencedor e o perdedor
      * (incrementa jogos jogados para ambos, e vitória/derrota).
+     * Para registrar uma partida inteira (partida + perfis) em uma só ida e
+     * volta e em uma transação, use MultiplayerMatchDAO.recordMatchResult.
      */
+    @Override
     public void updateStats2P(int winnerUserID, int loserUserID) {
         String sqlWinner = "UPDATE PlayerProfiles " +
                            "SET GamesPlayed_2P = GamesPlayed_2P + 1, " +
@@ -138,7 +181,8 @@ public class PlayerProfileDAO {
         
         // Executa ambas as atualizações (idealmente em uma transação,
         // mas aqui está simplificado)
-        try (PreparedStatement pstmtWinner = connection.prepareStatement(sqlWinner);
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmtWinner = connection.prepareStatement(sqlWinner);
              PreparedStatement pstmtLoser = connection.prepareStatement(sqlLoser)) {
             
             pstmtWinner.setInt(1, winnerUserID);
@@ -157,7 +201,21 @@ public class PlayerProfileDAO {
      * @param limit O número de jogadores a retornar (ex: 10).
      * @return Uma lista de PlayerWinsEntry (Nome, Vitórias).
      */
+    @Override
     public List<PlayerWinsEntry> getTopPlayerWins(int limit) {
+        try {
+            return queryTopPlayerWins(limit);
+        } catch (SQLException e) {
+            System.err.println("Erro ao ler ranking 2P do banco: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Mesmo que getTopPlayerWins, mas propaga o erro.
+     */
+    @Override
+    public List<PlayerWinsEntry> queryTopPlayerWins(int limit) throws SQLException {
         List<PlayerWinsEntry> topPlayers = new ArrayList<>();
         
         String sql = "SELECT TOP (?) Username, Wins_2P " +
@@ -165,7 +223,8 @@ public class PlayerProfileDAO {
                      "WHERE Wins_2P > 0 " + // Não mostra jogadores com 0 vitórias
                      "ORDER BY Wins_2P DESC";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, limit);
             
             try (ResultSet rs = pstmt.executeQuery()) {
@@ -176,8 +235,6 @@ public class PlayerProfileDAO {
                     ));
                 }
             }
-        } catch (SQLException e) {
-            System.err.println("Erro ao ler ranking 2P do banco: " + e.getMessage());
         }
         return topPlayers;
     }
@@ -187,7 +244,22 @@ public class PlayerProfileDAO {
      * Usado para popular a tela de seleção de perfil.
      * @return Lista de PlayerProfile.
      */
+    @Override
     public List<PlayerProfile> getAllPlayerProfiles() {
+        try {
+            return queryAllPlayerProfiles();
+        } catch (SQLException e) {
+            System.err.println("Erro ao buscar todos os perfis: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Mesmo que getAllPlayerProfiles, mas propaga o erro (usado na
+     * sincronização do LocalStore, que não deve confundir "erro" com "nenhum perfil").
+     */
+    @Override
+    public List<PlayerProfile> queryAllPlayerProfiles() throws SQLException {
         List<PlayerProfile> allProfiles = new ArrayList<>();
         // A seleção de colunas deve ser idêntica à de 'findUserByUsername'
         // para garantir que 'mapRowToPlayerProfile' funcione corretamente.
@@ -195,22 +267,48 @@ public class PlayerProfileDAO {
                      "TotalScore_1P, GamesPlayed_2P, Wins_2P, Losses_2P " +
                      "FROM PlayerProfiles ORDER BY Username";
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql);
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql);
              ResultSet rs = pstmt.executeQuery()) {
             
             while (rs.next()) {
                 allProfiles.add(mapRowToPlayerProfile(rs));
             }
-        } catch (SQLException e) {
-            System.err.println("Erro ao buscar todos os perfis: " + e.getMessage());
         }
         return allProfiles;
     }
 
+    /**
+     * Uma página de perfis por ordem de nome, a partir de 'afterUsername'.
+     * Usa o índice IX_Username (paginação por chave, sem OFFSET): cada
+     * página custa o mesmo, qualquer que seja a sua posição na tabela.
+     */
+    @Override
+    public List<PlayerProfile> queryProfilesPage(String afterUsername, int limit) throws SQLException {
+        List<PlayerProfile> page = new ArrayList<>();
+        String sql = "SELECT TOP (?) UserID, Username, GamesPlayed_1P, HighScore_1P, " +
+                     "TotalScore_1P, GamesPlayed_2P, Wins_2P, Losses_2P " +
+                     "FROM PlayerProfiles WHERE Username > ? ORDER BY Username";
+
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, limit);
+            pstmt.setString(2, afterUsername);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    page.add(mapRowToPlayerProfile(rs));
+                }
+            }
+        }
+        return page;
+    }
+
     /**
      * Método utilitário para converter uma linha de ResultSet em um objeto PlayerProfile.
+     * (Também usado pelo MultiplayerMatchDAO, com as colunas de PROFILE_OUTPUT_COLUMNS.)
      */
-    private PlayerProfile mapRowToPlayerProfile(ResultSet rs) throws SQLException {
+    static PlayerProfile mapRowToPlayerProfile(ResultSet rs) throws SQLException {
         return new PlayerProfile(
             rs.getInt("UserID"),
             rs.getString("Username"),
@@ -0,0 +1,67 @@
+package com.tetris.database;
+
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repositório dos perfis de jogador (tabela PlayerProfiles).
+ * Implementações: {@link PlayerProfileDAO} (SQL Server) e
+ * {@link InMemoryStorage} (memória, sem banco).
+ *
+ * Os métodos "find..."/"get..."/"update..." tratam os próprios erros
+ * (registram e devolvem null ou lista vazia); os "query..." os propagam,
+ * para quem precisa distinguir "vazio" de "banco indisponível".
+ * Nomes de usuário não diferenciam maiúsculas de minúsculas.
+ */
+public interface PlayerProfileRepository {
+
+    /**
+     * Busca um perfil pelo nome, atualizando o LastLogin.
+     * @return O perfil, ou null se não existir.
+     */
+    PlayerProfile findUserByUsername(String username);
+
+    /**
+     * Busca um perfil pelo nome ou o cria (com estatísticas zeradas).
+     * @return O perfil, ou null se o nome for vazio ou a criação falhar.
+     */
+    PlayerProfile findOrCreatePlayer(String username);
+
+    /**
+     * Grava o LastLogin de vários jogadores de uma vez (UserID -> momento do login).
+     */
+    void updateLastLogins(Map<Integer, Date> lastLogins) throws SQLException;
+
+    /**
+     * Conta uma partida 1P: jogos, pontuação total e high score.
+     */
+    void updateStats1P(int userID, int finalScore);
+
+    /**
+     * Conta uma partida 2P para o vencedor e o perdedor.
+     */
+    void updateStats2P(int winnerUserID, int loserUserID);
+
+    /**
+     * Os jogadores com mais vitórias 2P (só quem tem ao menos uma).
+     */
+    List<PlayerWinsEntry> getTopPlayerWins(int limit);
+
+    List<PlayerWinsEntry> queryTopPlayerWins(int limit) throws SQLException;
+
+    /**
+     * Todos os perfis, ordenados por nome.
+     */
+    List<PlayerProfile> getAllPlayerProfiles();
+
+    List<PlayerProfile> queryAllPlayerProfiles() throws SQLException;
+
+    /**
+     * Uma página de perfis em ordem de nome, começando logo depois de
+     * 'afterUsername' (paginação por chave: "" para a primeira página, e o
+     * nome do último perfil recebido para as seguintes).
+     */
+    List<PlayerProfile> queryProfilesPage(String afterUsername, int limit) throws SQLException;
+}
@@ -0,0 +1,11 @@
+package com.tetris.database;
+
+import java.util.List;
+
+/**
+ * Uma página do resultado de uma busca de perfis (ver PersistenceService.searchProfiles).
+ * @param profiles Os perfis da página, em ordem de nome.
+ * @param offset Posição do primeiro perfil da página entre todos os encontrados.
+ * @param totalMatches Quantos perfis a busca encontrou ao todo.
+ */
+public record ProfilePage(List<PlayerProfile> profiles, int offset, int totalMatches) {}
@@ -0,0 +1,372 @@
+package com.tetris.database;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Fila "write-behind" dos resultados de partidas.
+ *
+ * Em vez de várias idas e voltas ao banco no fim de cada partida, os
+ * resultados são acumulados e gravados em lote ({@link GameResultWriter}; no
+ * SQL Server, uma transação por lote) quando a fila atinge um tamanho, quando passa um
+ * intervalo de tempo, ou ao encerrar a aplicação.
+ *
+ * Cada resultado é antes anotado em um arquivo de spool local (sincronizado
+ * no disco), e o arquivo só é esvaziado depois que o lote é confirmado no
+ * banco. Se o banco estiver fora do ar, os resultados continuam na fila e no
+ * spool e são gravados na próxima tentativa, ou na próxima vez que o jogo
+ * abrir. (Se o jogo fechar entre o commit e a limpeza do spool, o lote é
+ * regravado na próxima abertura — uma janela de milissegundos.)
+ *
+ * Resultados de perfis criados offline (UserID local negativo) ficam na
+ * fila até o perfil existir no banco (ver setUserIdResolver).
+ *
+ * Só falhas de conexão (banco fora do ar, tempo esgotado, deadlock) mantêm
+ * o lote na fila. Se o banco recusa o lote por causa dos dados (ex: o
+ * perfil foi apagado no servidor), o lote é dividido ao meio até isolar os
+ * resultados recusados, que vão para um arquivo de rejeitados
+ * ("results.spool.rejected") e saem da fila; os demais são gravados.
+ *
+ * Todo o trabalho (spool e banco) roda na thread "tetris-db-writer".
+ */
+class ResultWriteQueue {
+
+    // Arquivo de spool padrão (na raiz do projeto, como o config.properties)
+    static final Path DEFAULT_SPOOL_FILE = Paths.get("results.spool");
+    // Grava assim que houver esta quantidade de resultados pendentes...
+    private static final int FLUSH_SIZE = 16;
+    // ...ou a cada este intervalo, se houver algum
+    private static final long FLUSH_INTERVAL_MILLIS = 2_000;
+    // Tempo máximo esperando o último lote ao encerrar
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final ScheduledExecutorService writer;
+    private final Path spoolFile; // null = sem spool (armazenamento só em memória)
+    private final Path rejectedFile; // Resultados recusados pelo banco (null = só registra no log)
+    // Avisado (na thread do writer) com os perfis atualizados de cada partida 2P gravada
+    private volatile Consumer<MatchOutcome> matchListener = outcome -> {};
+    // Traduz UserIDs locais para os do banco (identidade = nenhum perfil criado offline)
+    private volatile IntUnaryOperator userIdResolver = IntUnaryOperator.identity();
+
+    // --- Estado (só acessado pela thread do writer) ---
+    private GameResultWriter resultWriter; // Criado na thread do writer (o DatabaseManager conecta)
+    private final List<GameResult> pending = new ArrayList<>();
+    private boolean lastFlushFailed = false;
+
+    /**
+     * @param backendFactory Cria o armazenamento (chamado na thread do writer).
+     * @param spoolFile Arquivo de spool, ou null para não usar spool.
+     */
+    ResultWriteQueue(Supplier<StorageBackend> backendFactory, Path spoolFile) {
+        this.spoolFile = spoolFile;
+        this.rejectedFile = (spoolFile != null)
+            ? spoolFile.resolveSibling(spoolFile.getFileName() + ".rejected") : null;
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tetris-db-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        writer.execute(() -> {
+            recoverSpool();
+            try {
+                this.resultWriter = GameResultWriter.forBackend(backendFactory.get());
+            } catch (RuntimeException | LinkageError e) {
+                // Sem banco: os resultados ficam no spool (flush() falha e tenta de novo)
+                System.err.println("ResultWriteQueue: Banco de dados indisponível: " + e);
+            }
+        });
+        writer.scheduleWithFixedDelay(this::flush,
+            FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Enfileira um resultado. O future completa quando o resultado está
+     * anotado no spool (ou seja, não será perdido), não quando chega ao banco.
+     */
+    CompletableFuture<Void> enqueue(GameResult result) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            writer.execute(() -> {
+                try {
+                    appendToSpool(result);
+                } catch (IOException e) {
+                    // Continua na fila em memória; só não sobrevive a um fechamento do jogo
+                    System.err.println("ResultWriteQueue: Erro ao gravar spool: " + e.getMessage());
+                }
+                pending.add(result);
+                future.complete(null);
+                if (pending.size() >= FLUSH_SIZE) {
+                    flush();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            System.err.println("ResultWriteQueue: Fila encerrada, resultado descartado: " + result);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Define quem recebe os perfis atualizados pelo banco depois que uma
+     * partida 2P é confirmada.
+     */
+    void setMatchListener(Consumer<MatchOutcome> listener) {
+        this.matchListener = listener;
+    }
+
+    /**
+     * Define como os UserIDs locais (negativos) são traduzidos para os do
+     * banco na hora da gravação. Um id que continua negativo mantém o
+     * resultado na fila.
+     */
+    void setUserIdResolver(IntUnaryOperator resolver) {
+        this.userIdResolver = resolver;
+    }
+
+    /**
+     * Grava os pendentes no banco e encerra a thread (esperando um tempo limitado).
+     */
+    void shutdown() {
+        try {
+            writer.execute(this::flush);
+        } catch (RejectedExecutionException e) {
+            return; // Já encerrada
+        }
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.err.println("ResultWriteQueue: Lote final não terminou a tempo (continua no spool).");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // --- Gravação no Banco ---
+
+    /**
+     * Grava todos os pendentes em um lote. Se o banco estiver indisponível,
+     * eles continuam na fila (e no spool) para a próxima tentativa; os que o
+     * banco recusa são isolados e movidos para o arquivo de rejeitados.
+     * Resultados de perfis que ainda não existem no banco ficam para um
+     * próximo lote.
+     */
+    private void flush() {
+        if (pending.isEmpty()) return;
+
+        // Resultado da fila -> o mesmo com os UserIDs do banco (por identidade:
+        // duas partidas iguais são dois resultados)
+        Map<GameResult, GameResult> resolvedIds = new IdentityHashMap<>();
+        List<GameResult> batch = new ArrayList<>();
+        for (GameResult result : pending) {
+            GameResult resolved = resolveUserIds(result);
+            if (resolved != null) {
+                resolvedIds.put(result, resolved);
+                batch.add(result);
+            }
+        }
+        if (batch.isEmpty()) return;
+
+        Set<GameResult> written = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<GameResult> rejected = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<MatchOutcome> outcomes = new ArrayList<>();
+        boolean unavailable = false;
+        try {
+            writeIsolatingRejected(batch, resolvedIds, written, rejected, outcomes);
+        } catch (SQLException | RuntimeException e) {
+            if (!lastFlushFailed) { // Registra só a primeira falha de uma sequência
+                System.err.println("ResultWriteQueue: Banco indisponível, " + (batch.size() - written.size() - rejected.size())
+                                   + " resultado(s) mantidos no spool: " + e.getMessage());
+            }
+            lastFlushFailed = true;
+            unavailable = true;
+        }
+        if (written.isEmpty() && rejected.isEmpty()) return;
+
+        if (lastFlushFailed && !unavailable) {
+            System.out.println("ResultWriteQueue: Banco disponível novamente.");
+            lastFlushFailed = false;
+        }
+        pending.removeIf(result -> written.contains(result) || rejected.contains(result));
+        if (!written.isEmpty()) {
+            System.out.println("ResultWriteQueue: " + written.size() + " resultado(s) gravados em lote.");
+        }
+
+        try {
+            rewriteSpool();
+        } catch (IOException e) {
+            System.err.println("ResultWriteQueue: Erro ao limpar spool: " + e.getMessage());
+        }
+
+        for (MatchOutcome outcome : outcomes) {
+            matchListener.accept(outcome);
+        }
+    }
+
+    /**
+     * Grava 'results' em um lote. Se o banco recusar o lote por causa dos
+     * dados, divide-o ao meio e tenta cada metade, até isolar os resultados
+     * que nunca serão aceitos (esses vão para o arquivo de rejeitados).
+     * @param written Recebe os resultados gravados (saem da fila).
+     * @param rejected Recebe os resultados recusados (também saem da fila).
+     * @throws SQLException Se a conexão falhar (o que ainda não foi gravado nem recusado continua na fila).
+     */
+    private void writeIsolatingRejected(List<GameResult> results, Map<GameResult, GameResult> resolvedIds,
+                                        Set<GameResult> written, Set<GameResult> rejected,
+                                        List<MatchOutcome> outcomes) throws SQLException {
+        List<GameResult> batch = new ArrayList<>(results.size());
+        for (GameResult result : results) {
+            batch.add(resolvedIds.get(result));
+        }
+        try {
+            outcomes.addAll(resultWriter.writeBatch(batch));
+            written.addAll(results);
+        } catch (SQLException e) {
+            if (isTransient(e)) throw e;
+            if (results.size() == 1) {
+                reject(batch.get(0), e);
+                rejected.add(results.get(0));
+                return;
+            }
+            int middle = results.size() / 2;
+            writeIsolatingRejected(results.subList(0, middle), resolvedIds, written, rejected, outcomes);
+            writeIsolatingRejected(results.subList(middle, results.size()), resolvedIds, written, rejected, outcomes);
+        }
+    }
+
+    /**
+     * true se a falha é da conexão ou passageira (vale tentar o mesmo lote
+     * de novo): SQLState 08 (conexão), 40 (deadlock/rollback), HYT00/HY008
+     * (tempo esgotado), ou as exceções "transient"/"recoverable" do JDBC
+     * (ex: tempo esgotado esperando uma conexão do pool).
+     */
+    static boolean isTransient(SQLException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLTransientException || t instanceof SQLRecoverableException) return true;
+            if (t instanceof SQLException sql) {
+                String state = sql.getSQLState();
+                if (state != null && (state.startsWith("08") || state.startsWith("40")
+                                      || state.equals("HYT00") || state.equals("HY008"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Anota no arquivo de rejeitados um resultado que o banco não aceita.
+     */
+    private void reject(GameResult result, SQLException e) {
+        System.err.println("ResultWriteQueue: Resultado recusado pelo banco e removido da fila: "
+                           + result.toSpoolLine() + " (" + e.getMessage() + ")");
+        if (rejectedFile == null) return;
+        try {
+            Files.write(rejectedFile,
+                List.of(result.toSpoolLine()), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+        } catch (IOException io) {
+            System.err.println("ResultWriteQueue: Erro ao gravar rejeitados: " + io.getMessage());
+        }
+    }
+
+    /**
+     * O resultado com os UserIDs do banco, ou null se algum perfil ainda só existe localmente.
+     */
+    private GameResult resolveUserIds(GameResult result) {
+        IntUnaryOperator resolver = userIdResolver;
+        if (result instanceof GameResult.SoloResult solo) {
+            int userID = resolver.applyAsInt(solo.userID());
+            if (userID < 0) return null;
+            return (userID == solo.userID()) ? solo
+                : new GameResult.SoloResult(userID, solo.score(), solo.level(), solo.lines(), solo.tetrisCount());
+        }
+        if (result instanceof GameResult.MatchResult match) {
+            int winnerID = resolver.applyAsInt(match.winnerID());
+            int loserID = resolver.applyAsInt(match.loserID());
+            if (winnerID < 0 || loserID < 0) return null;
+            return (winnerID == match.winnerID() && loserID == match.loserID()) ? match
+                : new GameResult.MatchResult(winnerID, loserID, match.winnerScore(), match.loserScore());
+        }
+        return result;
+    }
+
+    // --- Spool Local ---
+
+    /**
+     * Carrega resultados que ficaram no spool (banco fora do ar ou jogo
+     * fechado antes de gravar).
+     */
+    private void recoverSpool() {
+        if (spoolFile == null || !Files.exists(spoolFile)) return;
+        try {
+            for (String line : Files.readAllLines(spoolFile, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) continue;
+                GameResult result = GameResult.fromSpoolLine(line);
+                if (result != null) {
+                    pending.add(result);
+                } else {
+                    System.err.println("ResultWriteQueue: Linha inválida no spool ignorada: " + line);
+                }
+            }
+            if (!pending.isEmpty()) {
+                System.out.println("ResultWriteQueue: " + pending.size() + " resultado(s) pendentes recuperados do spool.");
+            }
+        } catch (IOException e) {
+            System.err.println("ResultWriteQueue: Erro ao ler spool: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Acrescenta um resultado ao spool, forçando a escrita no disco.
+     */
+    private void appendToSpool(GameResult result) throws IOException {
+        if (spoolFile == null) return;
+        Files.write(spoolFile,
+            List.of(result.toSpoolLine()), StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC);
+    }
+
+    /**
+     * Reescreve o spool só com o que ainda está pendente (troca atômica de
+     * arquivo, para nunca deixar um spool pela metade).
+     */
+    private void rewriteSpool() throws IOException {
+        if (spoolFile == null) return;
+        if (pending.isEmpty()) {
+            Files.deleteIfExists(spoolFile);
+            return;
+        }
+        List<String> lines = new ArrayList<>();
+        for (GameResult result : pending) {
+            lines.add(result.toSpoolLine());
+        }
+        Path temp = spoolFile.resolveSibling(spoolFile.getFileName() + ".tmp");
+        Files.write(temp, lines, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.DSYNC);
+        Files.move(temp, spoolFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -14,12 +14,16 @@ import java.util.List;
  *
  * ATUALIZADO: getTopSoloScores agora seleciona e retorna os campos extras.
  */
-public class SoloScoreDAO {
+public class SoloScoreDAO implements SoloScoreRepository {
 
-    private Connection connection;
+    // Também usado em lote pelo GameResultDAO
+    static final String INSERT_SCORE_SQL =
+        "INSERT INTO SoloScores (UserID, Score, Level, LinesCleared, TetrisCount) VALUES (?, ?, ?, ?, ?)";
+
+    private final DatabaseManager database;
 
     public SoloScoreDAO() {
-        this.connection = DatabaseManager.getInstance().getConnection();
+        this.database = DatabaseManager.getInstance();
     }
 
     /**
@@ -31,15 +35,17 @@ public class SoloScoreDAO {
      * @param lines O total de linhas limpas.
      * @param tetrisCount O total de "Tetris" (4 linhas).
      */
+    @Override
     public void addScore(int userID, int score, int level, int lines, int tetrisCount) {
         if (score <= 0) {
             return; // Não salva pontuação zero
         }
 
         // SQL ATUALIZADO: Insere os novos campos
-        String sql = "INSERT INTO SoloScores (UserID, Score, Level, LinesCleared, TetrisCount) VALUES (?, ?, ?, ?, ?)";
+        String sql = INSERT_SCORE_SQL;
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setInt(1, userID);
             pstmt.setInt(2, score);
             pstmt.setInt(3, level);        // <-- ADICIONADO
@@ -60,7 +66,22 @@ public class SoloScoreDAO {
      * @param limit O número de pontuações a retornar (ex: 10).
      * @return Uma lista de SoloScoreEntry.
      */
+    @Override
     public List<SoloScoreEntry> getTopSoloScores(int limit) {
+        try {
+            return queryTopSoloScores(limit);
+        } catch (SQLException e) {
+            System.err.println("Erro ao ler ranking 1P do banco: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Mesmo que getTopSoloScores, mas propaga o erro (usado na sincronização
+     * do LocalStore, que não deve confundir "erro" com "ranking vazio").
+     */
+    @Override
+    public List<SoloScoreEntry> queryTopSoloScores(int limit) throws SQLException {
         List<SoloScoreEntry> topScores = new ArrayList<>();
         
         // --- CONSULTA ATUALIZADA ---
@@ -77,7 +98,8 @@ public class SoloScoreDAO {
                      "ORDER BY rs.Score DESC";
         // --- FIM DA ATUALIZAÇÃO ---
 
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+        try (Connection connection = database.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
             
             pstmt.setInt(1, limit); // TOP (?)
             
@@ -94,9 +116,6 @@ public class SoloScoreDAO {
                     topScores.add(new SoloScoreEntry(username, score, level, lines, tetris, date));
                 }
             }
-
-        } catch (SQLException e) {
-            System.err.println("Erro ao ler ranking 1P do banco: " + e.getMessage());
         }
         
         return topScores;
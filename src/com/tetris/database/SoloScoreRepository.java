@@ -0,0 +1,24 @@
+package com.tetris.database;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Repositório das pontuações 1P (tabela SoloScores).
+ * Implementações: {@link SoloScoreDAO} (SQL Server) e
+ * {@link InMemoryStorage} (memória, sem banco).
+ */
+public interface SoloScoreRepository {
+
+    /**
+     * Registra uma pontuação 1P (pontuação zero não é registrada).
+     */
+    void addScore(int userID, int score, int level, int lines, int tetrisCount);
+
+    /**
+     * A melhor pontuação de cada jogador, da maior para a menor.
+     */
+    List<SoloScoreEntry> getTopSoloScores(int limit);
+
+    List<SoloScoreEntry> queryTopSoloScores(int limit) throws SQLException;
+}
@@ -0,0 +1,37 @@
+package com.tetris.database;
+
+/**
+ * Armazenamento no SQL Server, pelos DAOs. Criar uma instância conecta ao
+ * banco (ver DatabaseManager), então deve ser feito fora do EDT.
+ */
+public final class SqlServerStorage implements StorageBackend {
+
+    private final PlayerProfileDAO profiles;
+    private final SoloScoreDAO soloScores;
+    private final MultiplayerMatchDAO matches;
+
+    public SqlServerStorage() {
+        this.profiles = new PlayerProfileDAO();
+        this.soloScores = new SoloScoreDAO();
+        this.matches = new MultiplayerMatchDAO();
+    }
+
+    @Override
+    public PlayerProfileRepository profiles() { return profiles; }
+
+    @Override
+    public SoloScoreRepository soloScores() { return soloScores; }
+
+    @Override
+    public MatchRepository matches() { return matches; }
+
+    @Override
+    public boolean isAvailable() {
+        return DatabaseManager.getInstance().isAvailable();
+    }
+
+    @Override
+    public void close() {
+        DatabaseManager.shutdown();
+    }
+}
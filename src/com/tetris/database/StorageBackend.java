@@ -0,0 +1,28 @@
+package com.tetris.database;
+
+/**
+ * Onde os dados do jogo ficam guardados: o conjunto dos repositórios.
+ * O {@link PersistenceService} usa um StorageBackend para a replicação em
+ * segundo plano; as leituras da interface vêm sempre do LocalStore.
+ *
+ * Implementações: {@link SqlServerStorage} (padrão) e {@link InMemoryStorage}
+ * (sem banco, para rodar o jogo, benchmarks e testes em uma máquina sem SQL Server).
+ */
+public interface StorageBackend {
+
+    PlayerProfileRepository profiles();
+
+    SoloScoreRepository soloScores();
+
+    MatchRepository matches();
+
+    /**
+     * true se o armazenamento respondeu na inicialização (ex: conexão com o banco).
+     */
+    boolean isAvailable();
+
+    /**
+     * Libera os recursos (ex: o pool de conexões). Chamado ao encerrar a aplicação.
+     */
+    default void close() {}
+}
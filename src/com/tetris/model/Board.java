@@ -5,8 +5,7 @@ import java.io.BufferedWriter;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.ArrayList; 
-import java.util.List;
+import java.util.Arrays;
 import java.util.Random; 
 
 /**
@@ -15,6 +14,19 @@ import java.util.Random;
  * lógica de "garbage" (lixo) para o modo 2P.
  * Esta classe não tem conhecimento do banco de dados; o highscore
  * é gerenciado externamente pelo GameController.
+ *
+ * A grade é armazenada como um "bitboard": uma máscara de ocupação por linha
+ * (bit x = coluna x preenchida), uma máscara paralela marcando as células de
+ * lixo e um plano compacto de cores (um byte por célula com o ordinal da forma).
+ * Colisões e detecção de linhas completas viram operações de bits por linha.
+ * As linhas ficam em um buffer circular: a linha lógica y (0 = base) está na
+ * posição física (baseRow + y) % BOARD_HEIGHT, então empurrar lixo por baixo
+ * e descartar linhas removidas são rotações do índice base, não cópias.
+ *
+ * Junto da grade são mantidos, de forma incremental, a altura e o número de
+ * células preenchidas de cada coluna e o total de buracos (células vazias
+ * abaixo do topo de cada coluna), consultáveis pela API somente leitura
+ * de "Resumo da Grade".
  */
 public class Board {
 
@@ -24,6 +36,11 @@ public class Board {
     private static final int LEVEL_UP_LINES = 10;
     private static final int LINE_CLEAR_ANIMATION_TICKS = 8; // Duração da animação de linha
 
+    // Máscara de uma linha totalmente preenchida (BOARD_WIDTH bits em 1)
+    private static final int FULL_ROW_MASK = (1 << BOARD_WIDTH) - 1;
+    // Cache de Tetrominoe.values() para converter o plano de cores de volta em formas
+    private static final Shape.Tetrominoe[] SHAPES = Shape.Tetrominoe.values();
+
     // --- Estado da Instância ---
     private boolean isStarted = false;
     private boolean isPaused = false;
@@ -48,16 +65,51 @@ public class Board {
     // --- Estado das Peças ---
     private Piece currentPiece;
     private Piece nextPiece;
-    private Shape.Tetrominoe[] boardGrid; // A grade principal do jogo
+
+    // --- Grade (bitboard) ---
+    // Indexadas pela linha física (ver physicalRow)
+    private final int[] rowMasks;     // Ocupação de cada linha (bit x = coluna x)
+    private final int[] garbageMasks; // Células de lixo de cada linha (subconjunto de rowMasks)
+    private final byte[] colorPlane;  // Ordinal do Tetrominoe de cada célula (linha física * BOARD_WIDTH + x)
+    private int baseRow = 0;          // Posição física da linha lógica 0 (base do tabuleiro)
+
+    // --- Resumo da Grade (mantido incrementalmente) ---
+    private final int[] columnHeights; // Linha do bloco mais alto + 1 (0 = coluna vazia)
+    private final int[] columnFills;   // Células preenchidas em cada coluna
+    private int holeCount = 0;         // Soma de (altura - preenchidas) de todas as colunas
 
     // --- Variáveis de Animação ---
     private boolean isAnimatingLineClear = false;
-    private List<Integer> linesBeingCleared = new ArrayList<>();
+    private int linesBeingCleared = 0; // Conjunto de linhas em remoção (bit y = linha y)
     private int lineClearTimer = 0;
 
+    // --- Cache da Peça Fantasma ---
+    // Incrementado a cada alteração da grade; invalida o cache da peça fantasma
+    private int gridVersion = 0;
+    // Estado da peça (forma, rotação, coluna) e da grade para o qual o cache vale.
+    // A varredura a partir de ghostFromY provou que todo Y entre ghostY e ghostFromY
+    // está livre, então enquanto a peça só descer nesse corredor o resultado se mantém.
+    private Shape.Tetrominoe ghostShape = null;
+    private int ghostRotation;
+    private int ghostX;
+    private int ghostFromY;
+    private int ghostY;
+    private int ghostGridVersion;
+
+    // Incrementado a cada mudança visível do tabuleiro (grade, peça, placar,
+    // pausa, lixo...). Permite ao Controller só renderizar quando algo mudou.
+    private int stateVersion = 0;
+
+    // --- Regiões Alteradas (consumidas pela View para redesenho parcial) ---
+    private int dirtyRows = 0;                                 // bit y = linha lógica y alterada
+    private final int[] dirtyColumns = new int[BOARD_HEIGHT]; // colunas alteradas de cada linha
 
     public Board() {
-        boardGrid = new Shape.Tetrominoe[BOARD_WIDTH * BOARD_HEIGHT];
+        rowMasks = new int[BOARD_HEIGHT];
+        garbageMasks = new int[BOARD_HEIGHT];
+        colorPlane = new byte[BOARD_WIDTH * BOARD_HEIGHT];
+        columnHeights = new int[BOARD_WIDTH];
+        columnFills = new int[BOARD_WIDTH];
         currentPiece = new Piece();
         nextPiece = new Piece();
         clearBoard();
@@ -84,6 +136,7 @@ public class Board {
      */
     public void resetWins() {
         this.wins = 0;
+        stateVersion++;
     }
 
     /**
@@ -94,7 +147,7 @@ public class Board {
         isGameOver = false;
         isPaused = false;
         isAnimatingLineClear = false; 
-        linesBeingCleared.clear();    
+        linesBeingCleared = 0;    
         
         // Reseta estatísticas da partida
         score = 0;
@@ -122,9 +175,89 @@ public class Board {
      * Preenche a grade do tabuleiro com 'NoShape'.
      */
     private void clearBoard() {
-        for (int i = 0; i < BOARD_WIDTH * BOARD_HEIGHT; i++) {
-            boardGrid[i] = Shape.Tetrominoe.NoShape;
+        Arrays.fill(rowMasks, 0);
+        Arrays.fill(garbageMasks, 0);
+        Arrays.fill(colorPlane, (byte) Shape.Tetrominoe.NoShape.ordinal());
+        baseRow = 0;
+        Arrays.fill(columnHeights, 0);
+        Arrays.fill(columnFills, 0);
+        holeCount = 0;
+        gridVersion++;
+        markRowsDirty(0, BOARD_HEIGHT);
+    }
+
+    /**
+     * Escreve uma forma em uma célula da grade, mantendo as máscaras
+     * de ocupação e de lixo consistentes com o plano de cores.
+     */
+    private void setCell(int x, int y, Shape.Tetrominoe shape) {
+        int bit = 1 << x;
+        int row = physicalRow(y);
+        boolean wasFilled = (rowMasks[row] & bit) != 0;
+        colorPlane[row * BOARD_WIDTH + x] = (byte) shape.ordinal();
+
+        if (shape == Shape.Tetrominoe.NoShape) {
+            rowMasks[row] &= ~bit;
+            if (wasFilled) {
+                columnFills[x]--;
+                holeCount++;
+                // Se o topo da coluna foi esvaziado, procura o novo topo
+                if (y + 1 == columnHeights[x]) {
+                    int height = y;
+                    while (height > 0 && (rowMasks[physicalRow(height - 1)] & bit) == 0) {
+                        height--;
+                    }
+                    holeCount -= columnHeights[x] - height;
+                    columnHeights[x] = height;
+                }
+            }
+        } else {
+            rowMasks[row] |= bit;
+            if (!wasFilled) {
+                columnFills[x]++;
+                holeCount--;
+                if (y >= columnHeights[x]) {
+                    holeCount += y + 1 - columnHeights[x];
+                    columnHeights[x] = y + 1;
+                }
+            }
         }
+        if (shape == Shape.Tetrominoe.GarbageShape) {
+            garbageMasks[row] |= bit;
+        } else {
+            garbageMasks[row] &= ~bit;
+        }
+        gridVersion++;
+        markCellDirty(x, y);
+    }
+
+    /**
+     * Converte uma linha lógica (0 = base do tabuleiro) na linha física do buffer circular.
+     */
+    private int physicalRow(int y) {
+        int row = baseRow + y;
+        return row >= BOARD_HEIGHT ? row - BOARD_HEIGHT : row;
+    }
+
+    /**
+     * Copia a linha lógica 'from' inteira (máscaras e cores) para a linha lógica 'to'.
+     */
+    private void copyRow(int from, int to) {
+        int src = physicalRow(from);
+        int dst = physicalRow(to);
+        rowMasks[dst] = rowMasks[src];
+        garbageMasks[dst] = garbageMasks[src];
+        System.arraycopy(colorPlane, src * BOARD_WIDTH, colorPlane, dst * BOARD_WIDTH, BOARD_WIDTH);
+    }
+
+    /**
+     * Preenche a linha lógica 'y' inteira com uma única forma (vazio, lixo, etc.).
+     */
+    private void fillRow(int y, Shape.Tetrominoe shape) {
+        int row = physicalRow(y);
+        rowMasks[row] = (shape == Shape.Tetrominoe.NoShape) ? 0 : FULL_ROW_MASK;
+        garbageMasks[row] = (shape == Shape.Tetrominoe.GarbageShape) ? FULL_ROW_MASK : 0;
+        Arrays.fill(colorPlane, row * BOARD_WIDTH, (row + 1) * BOARD_WIDTH, (byte) shape.ordinal());
     }
 
     /**
@@ -138,9 +271,12 @@ public class Board {
             this.incomingGarbage = 0;
         }
 
-        currentPiece = nextPiece;
-        nextPiece = new Piece(); 
+        // Troca as peças em vez de alocar uma nova: o objeto da peça
+        // anterior (já fixada na grade) passa a ser a próxima peça.
+        Piece spawned = nextPiece;
+        nextPiece = currentPiece;
         nextPiece.setRandomShape(); 
+        currentPiece = spawned;
         
         // Define a posição inicial da peça
         currentPiece.setX(BOARD_WIDTH / 2);
@@ -149,36 +285,28 @@ public class Board {
         totalPieces++; 
 
         // Verifica se a nova peça colide imediatamente (Game Over)
-        if (!tryMove(currentPiece, currentPiece.getX(), currentPiece.getY())) {
+        if (!tryMove(currentPiece.getX(), currentPiece.getY())) {
             isGameOver = true;
             currentPiece.setShape(Shape.Tetrominoe.NoShape);
+            stateVersion++;
         }
+        markPieceDirty();
     }
 
     /**
-     * Tenta mover a peça para uma nova posição (newX, newY).
+     * Tenta mover a peça atual para uma nova posição (newX, newY).
      * @return true se o movimento for bem-sucedido, false se houver colisão.
      */
-    private boolean tryMove(Piece piece, int newX, int newY) {
-        for (int i = 0; i < 4; i++) {
-            int x = newX + piece.x(i);
-            int y = newY - piece.y(i);
-
-            // Verifica colisão com as bordas do tabuleiro
-            if (x < 0 || x >= BOARD_WIDTH || y < 0) {
-                return false;
-            }
-
-            // Verifica colisão com peças já existentes na grade
-            if (y < BOARD_HEIGHT && shapeAt(x, y) != Shape.Tetrominoe.NoShape) {
-                return false;
-            }
+    private boolean tryMove(int newX, int newY) {
+        if (!canMoveTo(currentPiece, newX, newY)) {
+            return false;
         }
 
         // Se não houve colisão, atualiza a posição da peça
-        currentPiece = piece;
+        markPieceDirty();
         currentPiece.setX(newX);
         currentPiece.setY(newY);
+        markPieceDirty();
         return true;
     }
 
@@ -190,7 +318,7 @@ public class Board {
             int x = currentPiece.getX() + currentPiece.x(i);
             int y = currentPiece.getY() - currentPiece.y(i);
             if (y >= 0 && y < BOARD_HEIGHT) {
-                boardGrid[y * BOARD_WIDTH + x] = currentPiece.getShape();
+                setCell(x, y, currentPiece.getShape());
             }
         }
         
@@ -206,33 +334,22 @@ public class Board {
      * Verifica o tabuleiro por linhas completas e as marca para remoção.
      */
     private void detectFullLines() {
-        linesBeingCleared.clear();
+        linesBeingCleared = 0;
 
-        // Itera de baixo para cima
-        for (int i = BOARD_HEIGHT - 1; i >= 0; i--) {
-            boolean lineIsFull = true;
-            
+        for (int i = 0; i < BOARD_HEIGHT; i++) {
+            // Uma linha só é removida se estiver cheia e não contiver lixo
             // (Esta é a correção do bug anterior: não limpar lixo)
-            for (int j = 0; j < BOARD_WIDTH; j++) {
-                Shape.Tetrominoe shape = shapeAt(j, i);
-                
-                if (shape == Shape.Tetrominoe.NoShape || 
-                    shape == Shape.Tetrominoe.GarbageShape) { 
-                    
-                    lineIsFull = false;
-                    break;
-                }
-            }
-
-            if (lineIsFull) {
-                linesBeingCleared.add(i);
+            int row = physicalRow(i);
+            if (rowMasks[row] == FULL_ROW_MASK && garbageMasks[row] == 0) {
+                linesBeingCleared |= 1 << i;
             }
         }
 
         // Se linhas foram encontradas, inicia a animação
-        if (!linesBeingCleared.isEmpty()) {
+        if (linesBeingCleared != 0) {
             isAnimatingLineClear = true;
             lineClearTimer = LINE_CLEAR_ANIMATION_TICKS;
+            markClearingRowsDirty();
         }
     }
 
@@ -240,24 +357,50 @@ public class Board {
      * Remove as linhas marcadas (após a animação) e "desce" as linhas acima.
      */
     public void finishLineClear() {
-        if (linesBeingCleared.isEmpty()) {
+        if (linesBeingCleared == 0) {
             return;
         }
 
-        // Remove as linhas completas e move as de cima para baixo
-        for (int row : linesBeingCleared) {
-            for (int k = row; k < BOARD_HEIGHT - 1; k++) {
-                for (int j = 0; j < BOARD_WIDTH; j++) {
-                    boardGrid[k * BOARD_WIDTH + j] = shapeAt(j, k + 1);
+        int numFullLines = Integer.bitCount(linesBeingCleared);
+        int top = getMaxColumnHeight();
+        int lowest = Integer.numberOfTrailingZeros(linesBeingCleared);
+        int highest = 31 - Integer.numberOfLeadingZeros(linesBeingCleared);
+
+        // Tudo da primeira linha removida até o topo da pilha muda de lugar
+        markRowsDirty(lowest, top);
+
+        // Compactação em uma única passada, na direção que move menos linhas.
+        // As linhas sobreviventes entre 'lowest' e 'highest' se movem nos dois casos;
+        // a diferença é mover as linhas acima (até o topo da pilha) ou as abaixo.
+        if (lowest < top - 1 - highest) {
+            // Sobe as linhas abaixo das removidas, cada uma uma única vez...
+            int write = highest;
+            for (int read = highest - 1; read >= 0; read--) {
+                if ((linesBeingCleared & (1 << read)) == 0) {
+                    copyRow(read, write--);
                 }
             }
-            // Preenche a linha superior com vazio
-            for (int j = 0; j < BOARD_WIDTH; j++) {
-                boardGrid[(BOARD_HEIGHT - 1) * BOARD_WIDTH + j] = Shape.Tetrominoe.NoShape;
+            // ...esvazia as linhas que sobraram na base e gira o buffer: elas
+            // passam a ser as últimas linhas do topo (que estavam vazias)
+            for (int y = 0; y < numFullLines; y++) {
+                fillRow(y, Shape.Tetrominoe.NoShape);
+            }
+            baseRow = physicalRow(numFullLines);
+        } else {
+            // Desce as linhas acima das removidas, cada uma uma única vez
+            int write = lowest;
+            for (int read = lowest + 1; read < top; read++) {
+                if ((linesBeingCleared & (1 << read)) == 0) {
+                    copyRow(read, write++);
+                }
+            }
+            // Esvazia as linhas que sobraram no topo da pilha
+            for (int y = write; y < top; y++) {
+                fillRow(y, Shape.Tetrominoe.NoShape);
             }
         }
 
-        int numFullLines = linesBeingCleared.size();
+        updateSummaryAfterLineClear(numFullLines);
         
         // Define quanto "lixo" (garbage) será enviado ao oponente
         if (numFullLines == 2) {
@@ -277,39 +420,81 @@ public class Board {
             level++;
         }
 
+        gridVersion++;
+
         // Finaliza o estado de animação
-        linesBeingCleared.clear();
+        linesBeingCleared = 0;
         isAnimatingLineClear = false;
         lineClearTimer = 0;
     }
 
+    /**
+     * Atualiza o resumo da grade após remover 'numFullLines' linhas completas.
+     * Toda coluna perde exatamente uma célula por linha removida; as alturas
+     * são redescobertas varrendo as máscaras de cima para baixo, uma linha
+     * por vez para todas as colunas ao mesmo tempo.
+     */
+    private void updateSummaryAfterLineClear(int numFullLines) {
+        int top = 0;
+        for (int x = 0; x < BOARD_WIDTH; x++) {
+            columnFills[x] -= numFullLines;
+            top = Math.max(top, columnHeights[x] - numFullLines);
+        }
+
+        holeCount = 0;
+        int pending = FULL_ROW_MASK; // Colunas cujo topo ainda não foi encontrado
+        for (int y = top - 1; y >= 0 && pending != 0; y--) {
+            int found = rowMasks[physicalRow(y)] & pending;
+            pending &= ~found;
+            while (found != 0) {
+                int x = Integer.numberOfTrailingZeros(found);
+                found &= found - 1;
+                columnHeights[x] = y + 1;
+                holeCount += y + 1 - columnFills[x];
+            }
+        }
+        while (pending != 0) {
+            int x = Integer.numberOfTrailingZeros(pending);
+            pending &= pending - 1;
+            columnHeights[x] = 0;
+        }
+    }
+
     /**
      * Adiciona 'lines' de lixo na base do tabuleiro, empurrando tudo para cima.
      */
     private void applyGarbageLines(int lines) {
-        // Verifica se o lixo recebido causará Game Over imediato
-        for (int y = BOARD_HEIGHT - lines; y < BOARD_HEIGHT; y++) {
-            for (int x = 0; x < BOARD_WIDTH; x++) {
-                if (shapeAt(x, y) != Shape.Tetrominoe.NoShape) {
-                    isGameOver = true;
-                    return;
-                }
-            }
+        // Lixo maior que o tabuleiro inteiro sempre causa Game Over
+        if (lines >= BOARD_HEIGHT) {
+            isGameOver = true;
+            stateVersion++;
+            return;
         }
 
-        // Move as peças existentes para cima
-        for (int y = BOARD_HEIGHT - 1; y >= lines; y--) {
-            for (int x = 0; x < BOARD_WIDTH; x++) {
-                boardGrid[y * BOARD_WIDTH + x] = shapeAt(x, y - lines);
-            }
+        // Verifica se o lixo recebido causará Game Over imediato
+        if (getMaxColumnHeight() + lines > BOARD_HEIGHT) {
+            isGameOver = true;
+            stateVersion++;
+            return;
         }
 
+        // Move as peças existentes para cima girando o buffer: as 'lines'
+        // linhas do topo (vazias, ver acima) passam a ser a base
+        baseRow = physicalRow(BOARD_HEIGHT - lines);
+        markRowsDirty(0, getMaxColumnHeight() + lines);
+
         // (Esta é a correção do bug anterior: lixo sólido)
         for (int y = 0; y < lines; y++) {
-            for (int x = 0; x < BOARD_WIDTH; x++) {
-                boardGrid[y * BOARD_WIDTH + x] = Shape.Tetrominoe.GarbageShape;
-            }
+            fillRow(y, Shape.Tetrominoe.GarbageShape);
+        }
+
+        // Linhas de lixo são sólidas: cada coluna sobe 'lines' células e
+        // ganha 'lines' células preenchidas (os buracos não mudam)
+        for (int x = 0; x < BOARD_WIDTH; x++) {
+            columnHeights[x] += lines;
+            columnFills[x] += lines;
         }
+        gridVersion++;
         
         // Empurra a peça atual para cima junto com o resto
         if (currentPiece.getShape() != Shape.Tetrominoe.NoShape) {
@@ -321,16 +506,30 @@ public class Board {
     // --- Ações do Jogador ---
     
     public void moveLeft() {
-        tryMove(currentPiece, currentPiece.getX() - 1, currentPiece.getY());
+        tryMove(currentPiece.getX() - 1, currentPiece.getY());
     }
     public void moveRight() {
-        tryMove(currentPiece, currentPiece.getX() + 1, currentPiece.getY());
+        tryMove(currentPiece.getX() + 1, currentPiece.getY());
     }
     public void rotateLeft() {
-        tryMove(currentPiece.rotateLeft(), currentPiece.getX(), currentPiece.getY());
+        tryRotate(RotationTable.rotateLeft(currentPiece.getRotation()));
     }
     public void rotateRight() {
-        tryMove(currentPiece.rotateRight(), currentPiece.getX(), currentPiece.getY());
+        tryRotate(RotationTable.rotateRight(currentPiece.getRotation()));
+    }
+
+    /**
+     * Tenta colocar a peça atual no estado de rotação indicado, na mesma posição.
+     * A rotação só é aplicada se não houver colisão.
+     */
+    private boolean tryRotate(int newRotation) {
+        if (!canPlace(currentPiece.getShape(), newRotation, currentPiece.getX(), currentPiece.getY())) {
+            return false;
+        }
+        markPieceDirty();
+        currentPiece.setRotation(newRotation);
+        markPieceDirty();
+        return true;
     }
     
     /**
@@ -338,7 +537,7 @@ public class Board {
      */
     public void dropDown() {
         int newY = getGhostPieceY();
-        tryMove(currentPiece, currentPiece.getX(), newY);
+        tryMove(currentPiece.getX(), newY);
         pieceDropped();
     }
     
@@ -346,7 +545,7 @@ public class Board {
      * "Soft drop" - Move a peça um passo para baixo.
      */
     public void movePieceDown() {
-        if (!tryMove(currentPiece, currentPiece.getX(), currentPiece.getY() - 1)) {
+        if (!tryMove(currentPiece.getX(), currentPiece.getY() - 1)) {
             pieceDropped(); // Se não puder mover, fixa a peça
         }
     }
@@ -356,34 +555,98 @@ public class Board {
     public void togglePause() {
         if (!isStarted || isGameOver) return;
         isPaused = !isPaused;
+        stateVersion++;
     }
     public void toggleGhostPiece() {
         isGhostPieceEnabled = !isGhostPieceEnabled;
+        stateVersion++;
+        markPieceDirty();
     }
     
     /**
      * Calcula a coordenada Y onde a peça fantasma (prévia) deve ser desenhada.
+     * O resultado fica em cache e só é recalculado quando a peça muda de forma,
+     * rotação ou coluna, sobe acima do trecho já verificado, ou a grade muda.
+     * Descer a peça (gravidade, soft drop, hard drop) não invalida o cache.
      */
     public int getGhostPieceY() {
+        Shape.Tetrominoe shape = currentPiece.getShape();
+        int rotation = currentPiece.getRotation();
+        int x = currentPiece.getX();
         int y = currentPiece.getY();
-        while (true) {
-            if (!canMoveTo(currentPiece, currentPiece.getX(), y - 1)) {
-                return y;
+
+        if (shape == ghostShape && rotation == ghostRotation && x == ghostX
+                && gridVersion == ghostGridVersion && y <= ghostFromY && y >= ghostY) {
+            return ghostY;
+        }
+
+        int landingY = landingYFromHeights(shape, rotation, x, y);
+        if (landingY == Integer.MIN_VALUE) {
+            // A peça está abaixo do topo de alguma coluna (ex: sob uma saliência):
+            // as alturas não bastam, então desce verificando a grade
+            landingY = y;
+            while (canPlace(shape, rotation, x, landingY - 1)) {
+                landingY--;
             }
-            y--;
         }
+
+        ghostShape = shape;
+        ghostRotation = rotation;
+        ghostX = x;
+        ghostFromY = y;
+        ghostY = landingY;
+        ghostGridVersion = gridVersion;
+        return landingY;
     }
     
+    /**
+     * Calcula o Y de pouso usando apenas as alturas das colunas: para cada
+     * coluna da peça (no máximo 4), o bloco mais baixo deve ficar sobre o topo
+     * da coluna. Só é válido se a peça estiver inteiramente acima da pilha.
+     * @return O Y de pouso, ou Integer.MIN_VALUE se for preciso varrer a grade.
+     */
+    private int landingYFromHeights(Shape.Tetrominoe shape, int rotation, int x, int y) {
+        int landingY = Integer.MIN_VALUE;
+        for (int dx = RotationTable.minX(shape, rotation); dx <= RotationTable.maxX(shape, rotation); dx++) {
+            int column = x + dx;
+            int bottom = RotationTable.columnMaxY(shape, rotation, dx);
+            if (column < 0 || column >= BOARD_WIDTH || y - bottom < columnHeights[column]) {
+                return Integer.MIN_VALUE;
+            }
+            landingY = Math.max(landingY, columnHeights[column] + bottom);
+        }
+        return landingY;
+    }
+
     /**
      * Verifica se uma peça *poderia* se mover para uma posição, sem movê-la.
-     * Usado pela lógica da peça fantasma e rotação.
+     * Usado pela lógica de movimento (tryMove).
      */
     private boolean canMoveTo(Piece piece, int newX, int newY) {
-        for (int i = 0; i < 4; i++) {
-            int x = newX + piece.x(i);
-            int y = newY - piece.y(i);
-            if (x < 0 || x >= BOARD_WIDTH || y < 0) return false;
-            if (y < BOARD_HEIGHT && shapeAt(x, y) != Shape.Tetrominoe.NoShape) return false;
+        return canPlace(piece.getShape(), piece.getRotation(), newX, newY);
+    }
+
+    /**
+     * Verifica se uma forma, em um estado de rotação, cabe na posição (newX, newY).
+     * Usa os limites e as máscaras por linha pré-calculados na RotationTable:
+     * no máximo um AND por linha ocupada pela peça.
+     */
+    private boolean canPlace(Shape.Tetrominoe shape, int rotation, int newX, int newY) {
+        int left = newX + RotationTable.minX(shape, rotation);
+        int minY = RotationTable.minY(shape, rotation);
+        int maxY = RotationTable.maxY(shape, rotation);
+
+        // Colisão com as bordas do tabuleiro
+        if (left < 0 || newX + RotationTable.maxX(shape, rotation) >= BOARD_WIDTH || newY - maxY < 0) {
+            return false;
+        }
+
+        // Colisão com a grade (linhas acima do topo visível estão sempre livres)
+        for (int dy = minY; dy <= maxY; dy++) {
+            int y = newY - dy;
+            if (y < BOARD_HEIGHT && (rowMasks[physicalRow(y)] & (RotationTable.rowMask(shape, rotation, dy) << left)) != 0) {
+                return false;
+            }
         }
         return true;
     }
@@ -399,23 +662,156 @@ public class Board {
     public void decrementLineClearTimer() {
         if (lineClearTimer > 0) {
             lineClearTimer--;
+            markClearingRowsDirty(); // O "flash" alterna a cada quadro
+        }
+    }
+
+    // --- Regiões Alteradas ---
+
+    /**
+     * Marca uma célula (coordenadas lógicas) como alterada desde o último desenho.
+     */
+    private void markCellDirty(int x, int y) {
+        stateVersion++;
+        if (y >= 0 && y < BOARD_HEIGHT) {
+            dirtyRows |= 1 << y;
+            dirtyColumns[y] |= 1 << x;
+        }
+    }
+
+    /**
+     * Marca as linhas [fromY, toY) inteiras como alteradas.
+     */
+    private void markRowsDirty(int fromY, int toY) {
+        stateVersion++;
+        for (int y = Math.max(0, fromY); y < Math.min(toY, BOARD_HEIGHT); y++) {
+            dirtyRows |= 1 << y;
+            dirtyColumns[y] = FULL_ROW_MASK;
+        }
+    }
+
+    private void markClearingRowsDirty() {
+        int rows = linesBeingCleared;
+        while (rows != 0) {
+            int y = Integer.numberOfTrailingZeros(rows);
+            rows &= rows - 1;
+            markRowsDirty(y, y + 1);
+        }
+    }
+
+    /**
+     * Marca as células da peça atual e da sua peça fantasma. Chamado antes e
+     * depois de cada movimento, para apagar a posição antiga e desenhar a nova.
+     */
+    private void markPieceDirty() {
+        if (currentPiece.getShape() == Shape.Tetrominoe.NoShape) {
+            return;
+        }
+        int ghostY = getGhostPieceY();
+        for (int i = 0; i < 4; i++) {
+            int x = currentPiece.getX() + currentPiece.x(i);
+            markCellDirty(x, currentPiece.getY() - currentPiece.y(i));
+            markCellDirty(x, ghostY - currentPiece.y(i));
+        }
+    }
+
+    /**
+     * Linhas lógicas alteradas desde o último clearDirtyRegion() (bit y = linha y).
+     */
+    public int getDirtyRows() { return dirtyRows; }
+
+    /**
+     * Colunas alteradas da linha lógica 'y' (bit x = coluna x).
+     */
+    public int getDirtyColumns(int y) { return dirtyColumns[y]; }
+
+    /**
+     * Marca tudo como desenhado (chamado pela View após consumir as regiões).
+     */
+    public void clearDirtyRegion() {
+        int rows = dirtyRows;
+        while (rows != 0) {
+            int y = Integer.numberOfTrailingZeros(rows);
+            rows &= rows - 1;
+            dirtyColumns[y] = 0;
         }
+        dirtyRows = 0;
     }
     
     // --- Métodos de Vitória (para 2P) ---
     
     public void addWin() {
         this.wins++;
+        stateVersion++;
     }
     public int getWins() {
         return this.wins;
     }
 
+    // --- Montagem de Cenários (simulações, bots e benchmarks) ---
+
+    /**
+     * Escreve diretamente uma forma em uma célula da grade, sem passar pelas
+     * regras do jogo. Usado para montar tabuleiros pré-preenchidos.
+     */
+    public void setShapeAt(int x, int y, Shape.Tetrominoe shape) {
+        setCell(x, y, shape);
+    }
+
+    /**
+     * Copia a grade de outro tabuleiro para este (as peças e as
+     * estatísticas não são copiadas).
+     */
+    public void copyGridFrom(Board other) {
+        System.arraycopy(other.rowMasks, 0, rowMasks, 0, BOARD_HEIGHT);
+        System.arraycopy(other.garbageMasks, 0, garbageMasks, 0, BOARD_HEIGHT);
+        System.arraycopy(other.colorPlane, 0, colorPlane, 0, BOARD_WIDTH * BOARD_HEIGHT);
+        baseRow = other.baseRow;
+        System.arraycopy(other.columnHeights, 0, columnHeights, 0, BOARD_WIDTH);
+        System.arraycopy(other.columnFills, 0, columnFills, 0, BOARD_WIDTH);
+        holeCount = other.holeCount;
+        gridVersion++;
+        markRowsDirty(0, BOARD_HEIGHT);
+    }
+
+    // --- Resumo da Grade (somente leitura) ---
+
+    /** Altura da coluna 'x': linha do bloco mais alto + 1 (0 se vazia). */
+    public int getColumnHeight(int x) { return columnHeights[x]; }
+    /** Número de células preenchidas na coluna 'x'. */
+    public int getColumnFillCount(int x) { return columnFills[x]; }
+    /** Buracos da coluna 'x': células vazias abaixo do seu topo. */
+    public int getColumnHoleCount(int x) { return columnHeights[x] - columnFills[x]; }
+    /** Número de células preenchidas na linha 'y' (BOARD_WIDTH = linha completa). */
+    public int getRowFillCount(int y) { return Integer.bitCount(rowMasks[physicalRow(y)]); }
+    /** Total de buracos do tabuleiro. */
+    public int getHoleCount() { return holeCount; }
+
+    /** Altura da coluna mais alta. */
+    public int getMaxColumnHeight() {
+        int max = 0;
+        for (int x = 0; x < BOARD_WIDTH; x++) {
+            max = Math.max(max, columnHeights[x]);
+        }
+        return max;
+    }
+
     // --- Getters para o View e Controller ---
     
     public Shape.Tetrominoe shapeAt(int x, int y) {
-        return boardGrid[y * BOARD_WIDTH + x];
+        return SHAPES[colorPlane[physicalRow(y) * BOARD_WIDTH + x]];
     }
+    /**
+     * Contador incrementado a cada alteração das células fixadas na grade
+     * (não muda quando só a peça atual se move). Permite à View guardar em
+     * cache o desenho da pilha.
+     */
+    public int getGridVersion() { return gridVersion; }
+    /**
+     * Contador incrementado a cada mudança visível do tabuleiro; se não mudou
+     * desde o último quadro, não há nada novo a desenhar.
+     */
+    public int getStateVersion() { return stateVersion; }
     public boolean isStarted() { return isStarted; }
     public boolean isPaused() { return isPaused; }
     public boolean isGameOver() { return isGameOver; }
@@ -426,14 +822,19 @@ public class Board {
     public Piece getCurrentPiece() { return currentPiece; }
     public Piece getNextPiece() { return nextPiece; }
     public boolean isAnimatingLineClear() { return isAnimatingLineClear; }
-    public List<Integer> getLinesBeingCleared() { return linesBeingCleared; }
+    /** Conjunto de linhas em remoção como máscara de bits (bit y = linha y). */
+    public int getLinesBeingCleared() { return linesBeingCleared; }
+    public boolean isLineBeingCleared(int y) { return (linesBeingCleared & (1 << y)) != 0; }
     public int getLineClearTimer() { return lineClearTimer; }
     public int getTotalPieces() { return totalPieces; }
     public int getTetrisCount() { return tetrisCount; }
     
     // --- Getters/Setters de Lixo ---
     
-    public void addIncomingGarbage(int lines) { this.incomingGarbage += lines; }
+    public void addIncomingGarbage(int lines) {
+        this.incomingGarbage += lines;
+        stateVersion++;
+    }
     public int getOutgoingGarbage() { return this.outgoingGarbage; }
     public void clearOutgoingGarbage() { this.outgoingGarbage = 0; }
     public int getIncomingGarbage() { return this.incomingGarbage; }
@@ -0,0 +1,241 @@
+package com.tetris.model;
+
+/**
+ * Motor de simulação "headless" (sem Swing) que avança um ou dois tabuleiros
+ * por ticks lógicos explícitos: gravidade, animação de limpeza de linhas,
+ * troca de lixo (garbage) entre jogadores e detecção de fim de rodada.
+ *
+ * O GameController apenas chama tick() no ritmo do seu loop; simulações,
+ * bots e testes podem chamar tick() diretamente, na velocidade que quiserem,
+ * sem JFrame e sem depender do relógio do sistema.
+ *
+ * Todo o tempo é medido em nanossegundos de "tempo de jogo": cada tick
+ * representa tickNanos, então a gravidade e a animação de limpeza de linhas
+ * têm a mesma duração com a lógica a 60, 120 ou 240 Hz.
+ */
+public class GameEngine {
+
+    /** Frequência padrão da lógica (ticks por segundo de jogo). */
+    public static final int DEFAULT_TICK_RATE = 60;
+
+    private static final int INITIAL_DELAY = 400; // Delay inicial de queda (Nível 1)
+    private static final int MIN_DELAY = 100;     // Delay mínimo de queda
+    private static final int DELAY_STEP = 30;     // Redução do delay por nível
+
+    // Duração de um quadro da animação de limpeza de linhas (o Board conta quadros)
+    private static final long LINE_CLEAR_FRAME_NANOS = 33_000_000L;
+
+    private final Board board1;
+    private final Board board2;
+    private final long tickNanos;
+
+    private boolean twoPlayer = false;
+    private long tickCount = 0;
+
+    // Estado de tempo por jogador (índice 0 = board1, 1 = board2)
+
+    // Tempo de jogo (ns) acumulado desde a última queda da peça
+    private final long[] gravityElapsed = new long[2];
+    // Tempo de jogo (ns) acumulado no quadro atual da animação de limpeza
+    private final long[] lineClearElapsed = new long[2];
+    // Enquanto o jogador segura o "soft drop", a gravidade daquele tabuleiro pausa
+    private final boolean[] softDropping = new boolean[2];
+
+    public GameEngine(Board board1, Board board2) {
+        this(board1, board2, DEFAULT_TICK_RATE);
+    }
+
+    /**
+     * @param tickRate Quantos ticks formam um segundo de jogo (ex: 60, 120, 240).
+     */
+    public GameEngine(Board board1, Board board2, int tickRate) {
+        this.board1 = board1;
+        this.board2 = board2;
+        this.tickNanos = 1_000_000_000L / tickRate;
+    }
+
+    /**
+     * Inicia uma nova rodada (1P ou 2P), reiniciando os tabuleiros envolvidos.
+     * As vitórias da sessão são preservadas (ver Board.start()).
+     */
+    public void startRound(boolean twoPlayer) {
+        this.twoPlayer = twoPlayer;
+        board1.start();
+        if (twoPlayer) {
+            board2.start();
+        }
+        for (int i = 0; i < 2; i++) {
+            softDropping[i] = false;
+            lineClearElapsed[i] = 0;
+        }
+        resetGravityTimers();
+    }
+
+    /**
+     * Avança a simulação em um tick lógico.
+     * @return true se a rodada terminou (neste tick ou antes).
+     */
+    public boolean tick() {
+        if (isRoundFinished()) {
+            return true;
+        }
+        tickCount++;
+
+        // --- Gravidade e animações ---
+        stepBoard(board1, 0);
+        if (twoPlayer) {
+            stepBoard(board2, 1);
+            exchangeGarbage();
+        }
+
+        return isRoundFinished();
+    }
+
+    /**
+     * Aplica um tick de gravidade / animação de limpeza em um tabuleiro.
+     * O tempo excedente da gravidade é mantido, então a cadência média de queda
+     * é exata mesmo quando o delay do nível não é múltiplo da duração do tick.
+     */
+    private void stepBoard(Board board, int player) {
+        long delay = getDelayForLevel(board) * 1_000_000L;
+        gravityElapsed[player] += tickNanos;
+        boolean gravityDue = gravityElapsed[player] >= delay;
+
+        if (!board.isGameOver()) {
+            if (board.isAnimatingLineClear()) {
+                // Um quadro da animação do Board a cada LINE_CLEAR_FRAME_NANOS de jogo
+                lineClearElapsed[player] += tickNanos;
+                while (lineClearElapsed[player] >= LINE_CLEAR_FRAME_NANOS && board.getLineClearTimer() > 0) {
+                    lineClearElapsed[player] -= LINE_CLEAR_FRAME_NANOS;
+                    board.decrementLineClearTimer();
+                }
+                if (board.getLineClearTimer() <= 0) {
+                    lineClearElapsed[player] = 0;
+                    board.finishLineClear();
+                    if (!board.isGameOver()) board.newPiece();
+                }
+            } else if (board.isStarted() && !softDropping[player] && gravityDue) {
+                board.movePieceDown();
+            }
+        }
+
+        if (gravityDue) {
+            // Nunca acumula mais que uma queda pendente (ex: após subir de nível)
+            gravityElapsed[player] = Math.min(gravityElapsed[player] - delay, delay - 1);
+        }
+    }
+
+    /**
+     * Troca o lixo gerado por cada jogador. Ataques simultâneos se anulam
+     * e só a diferença é enviada ao oponente.
+     */
+    private void exchangeGarbage() {
+        int p1_garbage = board1.getOutgoingGarbage();
+        int p2_garbage = board2.getOutgoingGarbage();
+
+        if (p1_garbage > 0 && p2_garbage > 0) {
+            if (p1_garbage > p2_garbage) {
+                board2.addIncomingGarbage(p1_garbage - p2_garbage); // P1 ataca P2
+            } else if (p2_garbage > p1_garbage) {
+                board1.addIncomingGarbage(p2_garbage - p1_garbage); // P2 ataca P1
+            }
+            board1.clearOutgoingGarbage();
+            board2.clearOutgoingGarbage();
+
+        } else if (p1_garbage > 0) {
+            board2.addIncomingGarbage(p1_garbage);
+            board1.clearOutgoingGarbage();
+
+        } else if (p2_garbage > 0) {
+            board1.addIncomingGarbage(p2_garbage);
+            board2.clearOutgoingGarbage();
+        }
+    }
+
+    // --- Estado da Rodada ---
+
+    /**
+     * No modo 1P a rodada acaba quando o P1 perde; no 2P, quando qualquer um perde.
+     */
+    public boolean isRoundFinished() {
+        return isPlayerOneOver() || isPlayerTwoOver();
+    }
+    public boolean isPlayerOneOver() { return board1.isGameOver(); }
+    public boolean isPlayerTwoOver() { return twoPlayer && board2.isGameOver(); }
+
+    // --- Controle da Gravidade (chamado pelo input do jogador) ---
+
+    /**
+     * Reinicia o contador de gravidade de um tabuleiro (ex: após um movimento
+     * manual para baixo ou um "hard drop").
+     */
+    public void resetGravityTimer(Board board) {
+        if (board == board1) gravityElapsed[0] = 0;
+        if (board == board2) gravityElapsed[1] = 0;
+    }
+
+    public void resetGravityTimers() {
+        gravityElapsed[0] = 0;
+        gravityElapsed[1] = 0;
+    }
+
+    /**
+     * Informa se o jogador está segurando o "soft drop" (a gravidade pausa).
+     */
+    public void setSoftDropping(Board board, boolean softDropping) {
+        if (board == board1) this.softDropping[0] = softDropping;
+        if (board == board2) this.softDropping[1] = softDropping;
+    }
+
+    // --- Interpolação (usada pela View entre dois ticks) ---
+
+    /**
+     * Fração (0 a 1) do caminho até a próxima queda por gravidade da peça de um
+     * tabuleiro, considerando 'alpha' (fração do tick atual já decorrida no
+     * relógio real). A View usa o valor para descer a peça suavemente entre
+     * duas linhas. Retorna 0 quando a peça não vai cair (apoiada, soft drop,
+     * animação de limpeza, etc.).
+     */
+    public double getFallProgress(Board board, double alpha) {
+        if (!isFalling(board)) {
+            return 0;
+        }
+        int player = (board == board1) ? 0 : 1;
+        long delay = getDelayForLevel(board) * 1_000_000L;
+        double progress = (gravityElapsed[player] + alpha * tickNanos) / delay;
+        return Math.min(progress, 1.0);
+    }
+
+    /**
+     * true se a peça do tabuleiro está caindo por gravidade (a posição
+     * interpolada muda a cada quadro, mesmo sem mudança no Board).
+     */
+    public boolean isFalling(Board board) {
+        int player = (board == board1) ? 0 : 1;
+        if (player == 1 && !twoPlayer) {
+            return false;
+        }
+        if (!board.isStarted() || board.isGameOver() || board.isAnimatingLineClear() || softDropping[player]) {
+            return false;
+        }
+
+        Piece piece = board.getCurrentPiece();
+        return piece.getShape() != Shape.Tetrominoe.NoShape && board.getGhostPieceY() < piece.getY();
+    }
+
+    // --- Getters ---
+
+    public Board getBoard1() { return board1; }
+    public Board getBoard2() { return board2; }
+    public boolean isTwoPlayer() { return twoPlayer; }
+    public long getTickNanos() { return tickNanos; }
+    public long getTickCount() { return tickCount; }
+
+    /**
+     * Calcula o delay de queda da peça com base no nível atual.
+     */
+    public static int getDelayForLevel(Board board) {
+        // Garante que o delay nunca seja menor que 100ms
+        return Math.max(MIN_DELAY, INITIAL_DELAY - (board.getLevel() - 1) * DELAY_STEP);
+    }
+}
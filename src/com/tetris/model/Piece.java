@@ -5,36 +5,29 @@ import com.tetris.model.Shape.Tetrominoe;
 
 /**
  * Representa uma peça (tetrominó) individual.
- * Armazena sua forma, coordenadas relativas dos seus blocos e sua
- * posição (x, y) no tabuleiro. Também contém a lógica de rotação.
+ * Armazena sua forma, o índice do estado de rotação atual e sua
+ * posição (x, y) no tabuleiro. As coordenadas relativas dos blocos
+ * são consultadas na RotationTable, então girar não aloca objetos.
  */
 public class Piece {
 
     private Shape.Tetrominoe pieceShape;
-    private int[][] coords;
+    private int rotation; // Índice do estado de rotação na RotationTable (0..3)
     private int x, y; // Posição (ponto de pivô) da peça no tabuleiro
 
     // Gerador de números aleatórios compartilhado para todas as peças.
     private static final Random randomGenerator = new Random();
 
     public Piece() {
-        coords = new int[4][2];
         setShape(Shape.Tetrominoe.NoShape);
     }
 
     /**
-     * Define a forma desta peça, atualizando as coordenadas relativas
-     * com base na tabela de Shape.
+     * Define a forma desta peça, voltando ao estado de rotação inicial.
      */
     public void setShape(Shape.Tetrominoe shape) {
-        int[][][] coordsTable = Shape.getCoordsTable();
-
-        for (int i = 0; i < 4; i++) {
-            for (int j = 0; j < 2; ++j) {
-                coords[i][j] = coordsTable[shape.ordinal()][i][j];
-            }
-        }
         pieceShape = shape;
+        rotation = 0;
     }
 
     // --- Getters e Setters para posição no tabuleiro ---
@@ -43,13 +36,23 @@ public class Piece {
     public int getY() { return y; }
     public void setY(int y) { this.y = y; }
 
-    // --- Getters e Setters para coordenadas relativas dos blocos ---
-    private void setCoordX(int index, int val) { coords[index][0] = val; }
-    private void setCoordY(int index, int val) { coords[index][1] = val; }
-    public int x(int index) { return coords[index][0]; }
-    public int y(int index) { return coords[index][1]; }
+    // --- Getters e Setters para o estado de rotação ---
+    public int getRotation() { return rotation; }
+    public void setRotation(int rotation) { this.rotation = rotation; }
+
+    // --- Getters para coordenadas relativas dos blocos ---
+    public int x(int index) { return RotationTable.x(pieceShape, rotation, index); }
+    public int y(int index) { return RotationTable.y(pieceShape, rotation, index); }
     public Shape.Tetrominoe getShape() { return pieceShape; }
 
+    /**
+     * Reinicia o gerador compartilhado com uma semente fixa, tornando a
+     * sequência de peças reproduzível (simulações headless, bots e testes).
+     */
+    public static void setRandomSeed(long seed) {
+        randomGenerator.setSeed(seed);
+    }
+
     /**
      * Define a forma desta peça para um tetrominó aleatório (excluindo NoShape).
      */
@@ -60,57 +63,40 @@ public class Piece {
         setShape(values[x]);
     }
 
+    // --- Limites pré-calculados do estado de rotação atual ---
+
     /**
      * Retorna a coordenada X relativa mais baixa (mais à esquerda).
      */
-    public int minX() {
-        int m = coords[0][0];
-        for (int i = 1; i < 4; i++) m = Math.min(m, coords[i][0]);
-        return m;
-    }
+    public int minX() { return RotationTable.minX(pieceShape, rotation); }
+
+    /**
+     * Retorna a coordenada X relativa mais alta (mais à direita).
+     */
+    public int maxX() { return RotationTable.maxX(pieceShape, rotation); }
 
     /**
      * Retorna a coordenada Y relativa mais baixa (mais "baixa" na tela).
      */
-    public int minY() {
-        int m = coords[0][1];
-        for (int i = 1; i < 4; i++) m = Math.min(m, coords[i][1]);
-        return m;
-    }
+    public int minY() { return RotationTable.minY(pieceShape, rotation); }
+
+    /**
+     * Retorna a coordenada Y relativa mais alta.
+     */
+    public int maxY() { return RotationTable.maxY(pieceShape, rotation); }
 
     /**
-     * Retorna uma nova Peça rotacionada 90 graus à esquerda (anti-horário).
-     * A peça Quadrado (SquareShape) não é rotacionada.
+     * Gira esta peça 90 graus à esquerda (anti-horário), sem alocar.
+     * A peça Quadrado (SquareShape) tem todos os estados iguais na tabela.
      */
-    public Piece rotateLeft() {
-        if (pieceShape == Shape.Tetrominoe.SquareShape) return this;
-        
-        Piece result = new Piece();
-        result.pieceShape = this.pieceShape;
-        
-        // Aplica a matriz de rotação anti-horária: (x, y) -> (-y, x)
-        for (int i = 0; i < 4; i++) {
-            result.setCoordX(i, -y(i));
-            result.setCoordY(i, x(i));
-        }
-        return result;
+    public void rotateLeft() {
+        rotation = RotationTable.rotateLeft(rotation);
     }
 
     /**
-     * Retorna uma nova Peça rotacionada 90 graus à direita (horário).
-     * A peça Quadrado (SquareShape) não é rotacionada.
+     * Gira esta peça 90 graus à direita (horário), sem alocar.
      */
-    public Piece rotateRight() {
-        if (pieceShape == Shape.Tetrominoe.SquareShape) return this;
-        
-        Piece result = new Piece();
-        result.pieceShape = this.pieceShape;
-        
-        // Aplica a matriz de rotação horária: (x, y) -> (y, -x)
-        for (int i = 0; i < 4; i++) {
-            result.setCoordX(i, y(i));
-            result.setCoordY(i, -x(i));
-        }
-        return result;
+    public void rotateRight() {
+        rotation = RotationTable.rotateRight(rotation);
     }
 }
\ No newline at end of file
@@ -0,0 +1,144 @@
+package com.tetris.model;
+
+import java.util.Arrays;
+
+/**
+ * Tabela imutável e pré-calculada com todos os estados de rotação de cada
+ * Tetrominoe. Para cada forma e rotação armazena as coordenadas relativas
+ * dos 4 blocos, os limites (min/max) e as máscaras de bits por linha usadas
+ * na colisão com o bitboard do Board.
+ *
+ * Girar, gerar peças e calcular a peça fantasma passam a ser apenas
+ * consultas por índice, sem alocar objetos.
+ */
+public final class RotationTable {
+
+    /** Número de estados de rotação por forma. */
+    public static final int ROTATIONS = 4;
+
+    private static final int SHAPE_COUNT = Shape.Tetrominoe.values().length;
+
+    // [forma][rotação][bloco] -> coordenada relativa
+    private static final int[][][] COORD_X = new int[SHAPE_COUNT][ROTATIONS][4];
+    private static final int[][][] COORD_Y = new int[SHAPE_COUNT][ROTATIONS][4];
+
+    // [forma][rotação] -> limites da peça
+    private static final int[][] MIN_X = new int[SHAPE_COUNT][ROTATIONS];
+    private static final int[][] MAX_X = new int[SHAPE_COUNT][ROTATIONS];
+    private static final int[][] MIN_Y = new int[SHAPE_COUNT][ROTATIONS];
+    private static final int[][] MAX_Y = new int[SHAPE_COUNT][ROTATIONS];
+
+    // [forma][rotação][y - minY] -> máscara das colunas ocupadas (bit 0 = minX)
+    private static final int[][][] ROW_MASKS = new int[SHAPE_COUNT][ROTATIONS][];
+
+    // [forma][rotação][x - minX] -> maior Y relativo da coluna (bloco mais baixo no tabuleiro)
+    private static final int[][][] COLUMN_MAX_Y = new int[SHAPE_COUNT][ROTATIONS][];
+
+    static {
+        int[][][] coordsTable = Shape.getCoordsTable();
+
+        for (Shape.Tetrominoe shape : Shape.Tetrominoe.values()) {
+            int s = shape.ordinal();
+
+            // Estado 0 = coordenadas base da tabela de Shape
+            for (int i = 0; i < 4; i++) {
+                COORD_X[s][0][i] = coordsTable[s][i][0];
+                COORD_Y[s][0][i] = coordsTable[s][i][1];
+            }
+
+            // Cada estado seguinte é o anterior girado 90 graus à esquerda:
+            // (x, y) -> (-y, x). A peça Quadrado não é rotacionada.
+            for (int r = 1; r < ROTATIONS; r++) {
+                for (int i = 0; i < 4; i++) {
+                    if (shape == Shape.Tetrominoe.SquareShape) {
+                        COORD_X[s][r][i] = COORD_X[s][r - 1][i];
+                        COORD_Y[s][r][i] = COORD_Y[s][r - 1][i];
+                    } else {
+                        COORD_X[s][r][i] = -COORD_Y[s][r - 1][i];
+                        COORD_Y[s][r][i] = COORD_X[s][r - 1][i];
+                    }
+                }
+            }
+
+            for (int r = 0; r < ROTATIONS; r++) {
+                int minX = COORD_X[s][r][0], maxX = minX;
+                int minY = COORD_Y[s][r][0], maxY = minY;
+                for (int i = 1; i < 4; i++) {
+                    minX = Math.min(minX, COORD_X[s][r][i]);
+                    maxX = Math.max(maxX, COORD_X[s][r][i]);
+                    minY = Math.min(minY, COORD_Y[s][r][i]);
+                    maxY = Math.max(maxY, COORD_Y[s][r][i]);
+                }
+                MIN_X[s][r] = minX;
+                MAX_X[s][r] = maxX;
+                MIN_Y[s][r] = minY;
+                MAX_Y[s][r] = maxY;
+
+                int[] masks = new int[maxY - minY + 1];
+                for (int i = 0; i < 4; i++) {
+                    masks[COORD_Y[s][r][i] - minY] |= 1 << (COORD_X[s][r][i] - minX);
+                }
+                ROW_MASKS[s][r] = masks;
+
+                int[] columnMaxY = new int[maxX - minX + 1];
+                Arrays.fill(columnMaxY, Integer.MIN_VALUE);
+                for (int i = 0; i < 4; i++) {
+                    int column = COORD_X[s][r][i] - minX;
+                    columnMaxY[column] = Math.max(columnMaxY[column], COORD_Y[s][r][i]);
+                }
+                COLUMN_MAX_Y[s][r] = columnMaxY;
+            }
+        }
+    }
+
+    private RotationTable() {
+        // Classe utilitária (apenas métodos estáticos)
+    }
+
+    /** Rotação resultante de girar 90 graus à esquerda (anti-horário). */
+    public static int rotateLeft(int rotation) {
+        return (rotation + 1) & (ROTATIONS - 1);
+    }
+
+    /** Rotação resultante de girar 90 graus à direita (horário). */
+    public static int rotateRight(int rotation) {
+        return (rotation + ROTATIONS - 1) & (ROTATIONS - 1);
+    }
+
+    // --- Consultas por índice ---
+
+    public static int x(Shape.Tetrominoe shape, int rotation, int index) {
+        return COORD_X[shape.ordinal()][rotation][index];
+    }
+    public static int y(Shape.Tetrominoe shape, int rotation, int index) {
+        return COORD_Y[shape.ordinal()][rotation][index];
+    }
+    public static int minX(Shape.Tetrominoe shape, int rotation) {
+        return MIN_X[shape.ordinal()][rotation];
+    }
+    public static int maxX(Shape.Tetrominoe shape, int rotation) {
+        return MAX_X[shape.ordinal()][rotation];
+    }
+    public static int minY(Shape.Tetrominoe shape, int rotation) {
+        return MIN_Y[shape.ordinal()][rotation];
+    }
+    public static int maxY(Shape.Tetrominoe shape, int rotation) {
+        return MAX_Y[shape.ordinal()][rotation];
+    }
+
+    /**
+     * Máscara das colunas ocupadas pela peça na linha relativa 'y'
+     * (de minY a maxY), com o bit 0 correspondendo à coluna minX.
+     */
+    public static int rowMask(Shape.Tetrominoe shape, int rotation, int y) {
+        return ROW_MASKS[shape.ordinal()][rotation][y - MIN_Y[shape.ordinal()][rotation]];
+    }
+
+    /**
+     * Maior Y relativo entre os blocos da coluna relativa 'x' (de minX a maxX),
+     * ou seja, o bloco que fica mais embaixo no tabuleiro naquela coluna.
+     */
+    public static int columnMaxY(Shape.Tetrominoe shape, int rotation, int x) {
+        return COLUMN_MAX_Y[shape.ordinal()][rotation][x - MIN_X[shape.ordinal()][rotation]];
+    }
+}
@@ -0,0 +1,136 @@
+package com.tetris.view;
+
+import java.awt.Graphics2D;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+
+/**
+ * Renderização ativa: uma thread própria desenha a cena diretamente na
+ * BufferStrategy do Canvas do GameFrame e troca as páginas com show(),
+ * sem passar pelo RepaintManager / EDT do Swing.
+ *
+ * Os pedidos de quadro (requestFrame) são coalescidos: se vários chegam
+ * enquanto um quadro está sendo desenhado, apenas mais um é desenhado.
+ * Só as regiões da cena alteradas desde o último quadro são pintadas; se
+ * nada mudou, o quadro não é exibido.
+ */
+public class ActiveRenderer implements Runnable {
+
+    private final GameFrame gameFrame;
+    private final Object stateLock;
+    private final Runnable prepareFrame;
+
+    private final Object signal = new Object();
+    private boolean frameRequested = false;
+    private volatile boolean running = false;
+    private Thread thread;
+
+    /**
+     * @param gameFrame A janela (em modo de renderização ativa).
+     * @param stateLock Trava do estado do jogo, mantida durante todo o quadro.
+     * @param prepareFrame Executado (com a trava) antes de desenhar, para
+     *                     enviar o estado atual aos painéis.
+     */
+    public ActiveRenderer(GameFrame gameFrame, Object stateLock, Runnable prepareFrame) {
+        this.gameFrame = gameFrame;
+        this.stateLock = stateLock;
+        this.prepareFrame = prepareFrame;
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        thread = new Thread(this, "tetris-render");
+        thread.setDaemon(true);
+        thread.start();
+        System.out.println("ActiveRenderer: Renderização ativa (BufferStrategy) iniciada.");
+    }
+
+    public synchronized void stop() {
+        running = false;
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+        if (thread != null) {
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            thread = null;
+        }
+    }
+
+    /**
+     * Pede que um novo quadro seja desenhado assim que possível.
+     */
+    public void requestFrame() {
+        synchronized (signal) {
+            frameRequested = true;
+            signal.notifyAll();
+        }
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            synchronized (signal) {
+                while (!frameRequested && running) {
+                    try {
+                        signal.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                frameRequested = false;
+            }
+            if (!running) break;
+
+            try {
+                synchronized (stateLock) {
+                    prepareFrame.run();
+                    renderFrame();
+                }
+            } catch (RuntimeException e) {
+                System.err.println("ActiveRenderer: Erro ao desenhar quadro: " + e);
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Desenha as regiões alteradas no buffer de trás e o exibe. Se o conteúdo
+     * do buffer for perdido (ex: mudança de modo de vídeo), redesenha a cena
+     * inteira.
+     */
+    private void renderFrame() {
+        BufferStrategy strategy = gameFrame.getBufferStrategyForRendering();
+        if (strategy == null) {
+            return; // Janela ainda não exibível (ou já fechada)
+        }
+        if (!gameFrame.hasSceneChanges()) {
+            return; // Nada mudou desde o último quadro
+        }
+
+        boolean lost;
+        do {
+            boolean restored;
+            do {
+                Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    gameFrame.paintScene(g);
+                } finally {
+                    g.dispose();
+                }
+                restored = strategy.contentsRestored();
+                if (restored) gameFrame.repaintScene();
+            } while (restored);
+            strategy.show();
+            lost = strategy.contentsLost();
+            if (lost) gameFrame.repaintScene();
+        } while (lost);
+
+        // Garante que o quadro chegue à tela imediatamente (importante no Linux/X11)
+        Toolkit.getDefaultToolkit().sync();
+    }
+}
@@ -9,6 +9,10 @@ import javax.swing.JPanel;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
 
 /**
  * Painel responsável por desenhar um único tabuleiro de jogo,
@@ -18,12 +22,31 @@ public class BoardPanel extends JPanel {
 
     private Board board;
     private Theme currentTheme;
+    private TileAtlas tiles; // Blocos pré-desenhados do tema atual
+
+    // Camada estática em cache: fundo + grade + peças fixadas. Só é redesenhada
+    // quando o tema muda ou a grade do Board muda (peça fixada, linhas, lixo)
+    private BufferedImage stackLayer;
+    private Theme stackLayerTheme;
+    private Board stackLayerBoard;
+    private int stackLayerVersion;
+
+    // Fração (0 a 1) da queda até a próxima linha, usada para descer a peça
+    // suavemente entre dois passos lógicos (interpolação)
+    private double fallProgress = 0;
+
+    // --- Redesenho Parcial ---
+    // Estado já desenhado, para pedir repaint() apenas do que mudou
+    private boolean paintedStarted = false;
+    private final Rectangle paintedPiece = new Rectangle(); // Área da peça atual (com a queda suave)
+    private final Rectangle pieceBounds = new Rectangle();
     
     // Define um tamanho fixo para os quadrados (pixels)
     private static final int SQUARE_SIZE = 40;
 
     public BoardPanel() {
         this.currentTheme = Theme.AVAILABLE_THEMES[0];
+        this.tiles = new TileAtlas(currentTheme, SQUARE_SIZE);
         // Define o tamanho preferido com base no tamanho do quadrado e nas dimensões do tabuleiro
         setPreferredSize(new Dimension(SQUARE_SIZE * Board.BOARD_WIDTH, SQUARE_SIZE * Board.BOARD_HEIGHT));
     }
@@ -32,14 +55,100 @@ public class BoardPanel extends JPanel {
      * Recebe a referência mais recente do estado do tabuleiro (Model).
      */
     public void updateBoard(Board board) {
-        this.board = board;
+        if (board != this.board || board.isStarted() != paintedStarted) {
+            // Outro tabuleiro ou início/fim de jogo: redesenha tudo
+            this.board = board;
+            paintedStarted = board.isStarted();
+            board.clearDirtyRegion();
+            repaint();
+            return;
+        }
+        repaintDirtyRows();
+    }
+
+    /**
+     * Define a fração já percorrida da queda da peça atual até a próxima linha.
+     * Deve ser chamado após updateBoard().
+     */
+    public void setFallProgress(double fallProgress) {
+        this.fallProgress = fallProgress;
+        repaintPieceIfMoved();
     }
 
     /**
      * Atualiza o tema visual a ser usado para desenhar.
      */
     public void updateTheme(Theme theme) {
-        this.currentTheme = theme;
+        if (theme != this.currentTheme) {
+            this.currentTheme = theme;
+            this.tiles = new TileAtlas(theme, SQUARE_SIZE);
+            repaint();
+        }
+    }
+
+    // --- Redesenho Parcial ---
+
+    /**
+     * Pede repaint() apenas do trecho alterado de cada linha marcada pelo Board
+     * (células fixadas, peça e fantasma) e limpa as marcações.
+     */
+    private void repaintDirtyRows() {
+        int squareSize = getSquareSize();
+        int rows = board.getDirtyRows();
+        while (rows != 0) {
+            int y = Integer.numberOfTrailingZeros(rows);
+            rows &= rows - 1;
+            int columns = board.getDirtyColumns(y);
+            int minX = Integer.numberOfTrailingZeros(columns);
+            int maxX = 31 - Integer.numberOfLeadingZeros(columns);
+            repaint(minX * squareSize, (Board.BOARD_HEIGHT - 1 - y) * squareSize,
+                    (maxX - minX + 1) * squareSize, squareSize);
+        }
+        board.clearDirtyRegion();
+    }
+
+    /**
+     * A peça atual é desenhada com o deslocamento da queda suave, que não
+     * corresponde a células do Board: compara a área desenhada por último com
+     * a atual e, se mudou, redesenha as duas.
+     */
+    private void repaintPieceIfMoved() {
+        computePieceBounds(pieceBounds);
+        if (!pieceBounds.equals(paintedPiece)) {
+            if (!paintedPiece.isEmpty()) repaint(paintedPiece);
+            if (!pieceBounds.isEmpty()) repaint(pieceBounds);
+            paintedPiece.setBounds(pieceBounds);
+        }
+    }
+
+    /**
+     * Área (em pixels) ocupada pela peça atual como drawCurrentPiece() a desenha,
+     * ou vazia se ela não é desenhada.
+     */
+    private void computePieceBounds(Rectangle bounds) {
+        bounds.setBounds(0, 0, 0, 0);
+        if (board == null || !board.isStarted() || board.isAnimatingLineClear()) {
+            return;
+        }
+        Piece currentPiece = board.getCurrentPiece();
+        if (currentPiece.getShape() == Shape.Tetrominoe.NoShape) {
+            return;
+        }
+        int squareSize = getSquareSize();
+        int fallOffset = (int) (fallProgress * squareSize);
+        for (int i = 0; i < 4; i++) {
+            int y = currentPiece.getY() - currentPiece.y(i);
+            if (y < Board.BOARD_HEIGHT) {
+                int px = (currentPiece.getX() + currentPiece.x(i)) * squareSize;
+                int py = (Board.BOARD_HEIGHT - 1 - y) * squareSize + fallOffset;
+                if (bounds.isEmpty()) {
+                    bounds.setBounds(px, py, squareSize, squareSize);
+                } else {
+                    bounds.add(px, py);
+                    bounds.add(px + squareSize, py + squareSize);
+                }
+            }
+        }
     }
 
     /**
@@ -55,15 +164,42 @@ public class BoardPanel extends JPanel {
             return;
         }
         
-        // Desenha os componentes do jogo ativo
-        drawBoardBackground(g);
-        drawGrid(g);
-        drawPlacedPieces(g);
+        // Desenha os componentes do jogo ativo: a camada estática (uma única
+        // cópia, limitada à área sendo redesenhada) e, por cima, o que se move
+        g.drawImage(getStackLayer(), 0, 0, null);
         drawGhostPiece(g); 
         drawCurrentPiece(g);
         drawLinedClearAnimation(g);
     }
 
+    /**
+     * Retorna a camada com fundo, grade e peças fixadas, redesenhando-a
+     * antes se o tema, o tabuleiro ou a grade mudaram desde a última vez.
+     */
+    private BufferedImage getStackLayer() {
+        int width = getWidth(), height = getHeight();
+        if (stackLayer == null || stackLayer.getWidth() != width || stackLayer.getHeight() != height) {
+            stackLayer = CompatibleImages.create(width, height, Transparency.OPAQUE);
+            stackLayerTheme = null; // Força o redesenho
+        }
+
+        if (stackLayerTheme != currentTheme || stackLayerBoard != board
+                || stackLayerVersion != board.getGridVersion()) {
+            Graphics2D layerGraphics = stackLayer.createGraphics();
+            try {
+                drawBoardBackground(layerGraphics);
+                drawGrid(layerGraphics);
+                drawPlacedPieces(layerGraphics);
+            } finally {
+                layerGraphics.dispose();
+            }
+            stackLayerTheme = currentTheme;
+            stackLayerBoard = board;
+            stackLayerVersion = board.getGridVersion();
+        }
+        return stackLayer;
+    }
+
     /**
      * Desenha o fundo sólido do tabuleiro.
      */
@@ -89,17 +225,13 @@ public class BoardPanel extends JPanel {
     }
 
     /**
-     * Desenha todas as peças que já foram fixadas na grade.
+     * Desenha todas as peças que já foram fixadas na grade (na camada estática).
+     * As linhas em animação de limpeza também são desenhadas: o "flash" de
+     * drawLinedClearAnimation() as cobre por inteiro.
      */
     private void drawPlacedPieces(Graphics g) {
         int squareSize = getSquareSize();
         for (int i = 0; i < Board.BOARD_HEIGHT; i++) {
-            
-            // Pula o desenho de linhas que estão na animação de "flash"
-            if (board.isAnimatingLineClear() && board.getLinesBeingCleared().contains(i)) {
-                continue;
-            }
-
             for (int j = 0; j < Board.BOARD_WIDTH; j++) {
                 Shape.Tetrominoe shape = board.shapeAt(j, i);
                 if (shape != Shape.Tetrominoe.NoShape) {
@@ -122,13 +254,14 @@ public class BoardPanel extends JPanel {
         Piece currentPiece = board.getCurrentPiece();
         if (board.isStarted() && currentPiece.getShape() != Shape.Tetrominoe.NoShape) {
             int squareSize = getSquareSize();
+            int fallOffset = (int) (fallProgress * squareSize); // Interpolação da queda
             for (int i = 0; i < 4; i++) {
                 int x = currentPiece.getX() + currentPiece.x(i);
                 int y = currentPiece.getY() - currentPiece.y(i);
                 
                 // Desenha apenas blocos que estão dentro da altura visível
                 if (y < Board.BOARD_HEIGHT) { 
-                    drawSquare(g, x * squareSize, (Board.BOARD_HEIGHT - 1 - y) * squareSize, currentPiece.getShape(), false);
+                    drawSquare(g, x * squareSize, (Board.BOARD_HEIGHT - 1 - y) * squareSize + fallOffset, currentPiece.getShape(), false);
                 }
             }
         }
@@ -174,7 +307,10 @@ public class BoardPanel extends JPanel {
         g.setColor(flashColor);
 
         int squareSize = getSquareSize();
-        for (int row : board.getLinesBeingCleared()) {
+        int rows = board.getLinesBeingCleared();
+        while (rows != 0) {
+            int row = Integer.numberOfTrailingZeros(rows);
+            rows &= rows - 1;
             int y = (Board.BOARD_HEIGHT - 1 - row) * squareSize;
             g.fillRect(0, y, getWidth(), squareSize); // Desenha um retângulo sobre a linha
         }
@@ -182,7 +318,8 @@ public class BoardPanel extends JPanel {
 
 
     /**
-     * Helper centralizado para desenhar um único quadrado de peça ou fantasma.
+     * Helper centralizado para desenhar um único quadrado de peça ou fantasma
+     * (uma cópia do bloco pré-desenhado no TileAtlas do tema).
      * @param g Graphics context
      * @param x Coordenada X (em pixels) do canto superior esquerdo
      * @param y Coordenada Y (em pixels) do canto superior esquerdo
@@ -190,28 +327,7 @@ public class BoardPanel extends JPanel {
      * @param isGhost Se true, desenha apenas um contorno (peça fantasma)
      */
     private void drawSquare(Graphics g, int x, int y, Shape.Tetrominoe shape, boolean isGhost) {
-        int size = getSquareSize();
-        Color[] colors = currentTheme.pieceColors();
-        Color color = colors[shape.ordinal()];
-
-        if (isGhost) {
-            // Desenha apenas o contorno para a peça fantasma
-            g.setColor(color.darker()); 
-            g.drawRect(x + 1, y + 1, size - 2, size - 2); 
-        } else {
-            // Desenha o bloco sólido
-            g.setColor(color);
-            g.fillRect(x + 1, y + 1, size - 2, size - 2);
-
-            // Adiciona destaques 3D (claro em cima/esquerda, escuro em baixo/direita)
-            g.setColor(color.brighter());
-            g.drawLine(x, y + size - 1, x, y);
-            g.drawLine(x, y, x + size - 1, y);
-
-            g.setColor(color.darker());
-            g.drawLine(x + 1, y + size - 1, x + size - 1, y + size - 1);
-            g.drawLine(x + size - 1, y + size - 1, x + size - 1, y + 1);
-        }
+        tiles.drawTile(g, x, y, shape, isGhost);
     }
     
     /**
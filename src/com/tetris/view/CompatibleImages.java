@@ -0,0 +1,27 @@
+package com.tetris.view;
+
+import java.awt.GraphicsEnvironment;
+import java.awt.image.BufferedImage;
+
+/**
+ * Criação de imagens em cache no formato da tela, para que o Java2D possa
+ * mantê-las em memória de vídeo e copiá-las por hardware.
+ */
+final class CompatibleImages {
+
+    private CompatibleImages() {}
+
+    /**
+     * @param transparency Transparency.OPAQUE, BITMASK ou TRANSLUCENT.
+     * @return Imagem compatível com a tela principal, ou uma imagem ARGB
+     *         comum quando não há tela (modo headless).
+     */
+    static BufferedImage create(int width, int height, int transparency) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            return GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration()
+                    .createCompatibleImage(width, height, transparency);
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+}
@@ -3,15 +3,39 @@ package com.tetris.view;
 import com.tetris.controller.GameController; 
 import com.tetris.model.Theme; 
 
+import javax.swing.JComponent;
 import javax.swing.JFrame;
 import javax.swing.JLayeredPane;
+import javax.swing.RepaintManager;
+import javax.swing.SwingUtilities;
+import java.awt.AWTException;
+import java.awt.BufferCapabilities;
+import java.awt.Canvas;
+import java.awt.Component;
+import java.awt.Container;
 import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.ImageCapabilities;
+import java.awt.Rectangle;
 import java.awt.Color; 
+import java.awt.image.BufferStrategy;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A janela principal do jogo (o JFrame).
  * Esta classe é o container de nível superior para todos os elementos visuais
  * e usa um JLayeredPane para sobrepor o OverlayPanel (menus) sobre o GamePanel (jogo).
+ *
+ * Há dois modos de exibição:
+ * - Swing (padrão do Swing): o JLayeredPane fica na janela e é pintado pelo EDT.
+ * - Renderização ativa: a janela contém apenas um Canvas com BufferStrategy
+ *   (page flipping quando disponível). O JLayeredPane continua sendo o "desenho"
+ *   da cena, mas fica fora da janela e é pintado no buffer pelo ActiveRenderer.
+ *   Se a BufferStrategy não puder ser criada, a janela volta ao modo Swing.
+ *   Nesse modo os repaint() dos painéis são coletados como regiões da cena e
+ *   apenas elas são pintadas no buffer a cada quadro.
  */
 public class GameFrame extends JFrame {
 
@@ -19,8 +43,26 @@ public class GameFrame extends JFrame {
     private OverlayPanel overlayPanel;
     private JLayeredPane layeredPane;
 
+    // --- Renderização Ativa ---
+    private Canvas activeCanvas = null; // null = modo Swing
+    private Runnable exposeListener = null;
+
+    // Regiões da cena (coordenadas do JLayeredPane) a pintar no próximo quadro
+    private static final int MAX_DIRTY_REGIONS = 8;
+    private final List<Rectangle> sceneDirtyRegions = new ArrayList<>();
+
     public GameFrame() {
+        this(false);
+    }
+
+    /**
+     * @param activeRendering true para tentar usar renderização ativa (Canvas + BufferStrategy).
+     */
+    public GameFrame(boolean activeRendering) {
         initComponents();
+        if (activeRendering) {
+            enableActiveRendering();
+        }
     }
 
     /**
@@ -70,6 +112,78 @@ public class GameFrame extends JFrame {
         setLocationRelativeTo(null); // Centraliza na tela
     }
     
+    /**
+     * Troca o conteúdo da janela pelo Canvas de renderização ativa.
+     * Em caso de falha, mantém o modo Swing.
+     */
+    private void enableActiveRendering() {
+        Dimension size = layeredPane.getPreferredSize();
+
+        Canvas canvas = new Canvas() {
+            // O SO pediu para redesenhar (ex: janela descoberta): pede um quadro
+            @Override
+            public void paint(Graphics g) {
+                repaintScene();
+                if (exposeListener != null) exposeListener.run();
+            }
+            @Override
+            public void update(Graphics g) {
+                paint(g);
+            }
+        };
+        canvas.setPreferredSize(size);
+        canvas.setFocusable(true);
+
+        remove(layeredPane);
+        add(canvas);
+        pack();
+
+        if (!createBufferStrategy(canvas)) {
+            System.err.println("GameFrame: BufferStrategy indisponível, usando renderização Swing.");
+            remove(canvas);
+            add(layeredPane);
+            pack();
+            setLocationRelativeTo(null);
+            return;
+        }
+
+        // O JLayeredPane agora é pintado fora da hierarquia da janela
+        layeredPane.setSize(size);
+        layoutTree(layeredPane);
+        RepaintManager sceneRepaintManager = new SceneRepaintManager();
+        sceneRepaintManager.setDoubleBufferingEnabled(false);
+        RepaintManager.setCurrentManager(sceneRepaintManager);
+        setIgnoreRepaint(true);
+        activeCanvas = canvas;
+        repaintScene();
+        setLocationRelativeTo(null);
+        System.out.println("GameFrame: Renderização ativa habilitada.");
+    }
+
+    /**
+     * Cria a BufferStrategy do Canvas, preferindo page flipping (double buffer
+     * em memória de vídeo) e, se não houver suporte, a estratégia padrão.
+     */
+    private static boolean createBufferStrategy(Canvas canvas) {
+        try {
+            canvas.createBufferStrategy(2, new BufferCapabilities(
+                    new ImageCapabilities(true), new ImageCapabilities(true),
+                    // COPIED: o buffer de trás mantém o último quadro, o que
+                    // permite pintar só as regiões alteradas
+                    BufferCapabilities.FlipContents.COPIED));
+            return true;
+        } catch (AWTException e) {
+            // Sem page flipping: usa a estratégia padrão (blit)
+        }
+        try {
+            canvas.createBufferStrategy(2);
+            return canvas.getBufferStrategy() != null;
+        } catch (RuntimeException e) {
+            System.err.println("GameFrame: Erro ao criar BufferStrategy: " + e.getMessage());
+            return false;
+        }
+    }
+
     /**
      * Redimensiona a janela (JFrame) para se ajustar ao conteúdo do GamePanel
      * (seja 1P ou 2P) e a re-centraliza na tela.
@@ -83,9 +197,153 @@ public class GameFrame extends JFrame {
         // Atualiza os limites de ambos os painéis filhos para o novo tamanho
         gamePanel.setBounds(0, 0, size.width, size.height);
         overlayPanel.setBounds(0, 0, size.width, size.height);
+
+        if (activeCanvas != null) {
+            // A cena é pintada fora da janela: o Canvas acompanha o novo tamanho
+            layeredPane.setSize(size);
+            layoutTree(layeredPane);
+            activeCanvas.setPreferredSize(size);
+        }
         
         pack(); // Re-calcula o tamanho do JFrame
         setLocationRelativeTo(null); // Re-centraliza a janela
+
+        if (activeCanvas != null) {
+            createBufferStrategy(activeCanvas); // Buffers no novo tamanho
+            repaintScene();
+        }
+    }
+
+    // --- Renderização Ativa ---
+
+    /** true se a janela está em modo de renderização ativa. */
+    public boolean isActiveRendering() {
+        return activeCanvas != null;
+    }
+
+    /**
+     * Define o que fazer quando o SO pede para redesenhar o Canvas.
+     */
+    public void setExposeListener(Runnable exposeListener) {
+        this.exposeListener = exposeListener;
+    }
+
+    /**
+     * BufferStrategy atual do Canvas, ou null se não estiver pronta.
+     */
+    BufferStrategy getBufferStrategyForRendering() {
+        if (activeCanvas == null || !activeCanvas.isDisplayable()) {
+            return null;
+        }
+        return activeCanvas.getBufferStrategy();
+    }
+
+    /**
+     * true se há regiões da cena esperando para serem pintadas.
+     */
+    boolean hasSceneChanges() {
+        synchronized (sceneDirtyRegions) {
+            return !sceneDirtyRegions.isEmpty();
+        }
+    }
+
+    /**
+     * Marca a cena inteira para ser pintada no próximo quadro (ex: buffer
+     * recriado ou com o conteúdo perdido).
+     */
+    void repaintScene() {
+        addSceneDirtyRegion(new Rectangle(0, 0, layeredPane.getWidth(), layeredPane.getHeight()));
+    }
+
+    /**
+     * Pinta no Graphics fornecido as regiões alteradas da cena (jogo + menus)
+     * desde o último quadro.
+     */
+    void paintScene(Graphics2D g) {
+        List<Rectangle> regions;
+        synchronized (sceneDirtyRegions) {
+            regions = new ArrayList<>(sceneDirtyRegions);
+            sceneDirtyRegions.clear();
+        }
+        for (Rectangle region : regions) {
+            Graphics2D regionGraphics = (Graphics2D) g.create();
+            try {
+                regionGraphics.clip(region);
+                layeredPane.paint(regionGraphics);
+            } finally {
+                regionGraphics.dispose();
+            }
+        }
+    }
+
+    /**
+     * Acumula uma região alterada, juntando-a às que ela cruza. Se houver
+     * regiões demais, todas viram um único retângulo envolvente.
+     */
+    private void addSceneDirtyRegion(Rectangle region) {
+        Rectangle clipped = region.intersection(new Rectangle(0, 0, layeredPane.getWidth(), layeredPane.getHeight()));
+        if (clipped.isEmpty()) {
+            return;
+        }
+        synchronized (sceneDirtyRegions) {
+            for (Rectangle existing : sceneDirtyRegions) {
+                if (existing.intersects(clipped)) {
+                    existing.add(clipped);
+                    return;
+                }
+            }
+            sceneDirtyRegions.add(clipped);
+            if (sceneDirtyRegions.size() > MAX_DIRTY_REGIONS) {
+                Rectangle union = new Rectangle(sceneDirtyRegions.get(0));
+                for (Rectangle existing : sceneDirtyRegions) {
+                    union.add(existing);
+                }
+                sceneDirtyRegions.clear();
+                sceneDirtyRegions.add(union);
+            }
+        }
+    }
+
+    /**
+     * Fora de uma janela o RepaintManager padrão ignora os repaint() dos
+     * painéis. Este converte os pedidos da cena em regiões para o
+     * ActiveRenderer; os demais componentes seguem o caminho normal.
+     */
+    private final class SceneRepaintManager extends RepaintManager {
+        @Override
+        public void addDirtyRegion(JComponent c, int x, int y, int w, int h) {
+            if (!SwingUtilities.isDescendingFrom(c, layeredPane)) {
+                super.addDirtyRegion(c, x, y, w, h);
+                return;
+            }
+            if (w <= 0 || h <= 0) {
+                return;
+            }
+            for (Component p = c; p != layeredPane; p = p.getParent()) {
+                if (!p.isVisible()) return; // Componente oculto (ex: painéis 2P no modo 1P)
+            }
+            addSceneDirtyRegion(SwingUtilities.convertRectangle(c, new Rectangle(x, y, w, h), layeredPane));
+        }
+    }
+
+    /**
+     * Aplica o layout em toda a árvore de componentes. Fora de uma janela
+     * exibível o validate() do AWT não faz nada, então o layout é feito aqui.
+     */
+    private static void layoutTree(Container container) {
+        container.doLayout();
+        for (Component child : container.getComponents()) {
+            if (child instanceof Container) {
+                layoutTree((Container) child);
+            }
+        }
+    }
+
+    /**
+     * O componente que recebe o foco e os eventos de teclado.
+     */
+    public Component getInputComponent() {
+        return (activeCanvas != null) ? activeCanvas : gamePanel;
     }
 
     // --- Métodos de acesso para o Controller ---
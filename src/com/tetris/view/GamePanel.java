@@ -23,6 +23,8 @@ public class GamePanel extends JPanel {
     private InfoPanel infoPanel2;
     private GarbageBarPanel garbageBar2; 
 
+    private Theme currentTheme;
+
     public GamePanel() {
         initComponents();
     }
@@ -91,6 +93,10 @@ public class GamePanel extends JPanel {
      * Propaga a mudança de tema para todos os componentes filhos.
      */
     public void updateTheme(Theme theme) {
+        if (theme == currentTheme) {
+            return; // Chamado a cada quadro: só propaga mudanças reais
+        }
+        currentTheme = theme;
         setBackground(theme.uiBackground());
         
         infoPanel1.updateTheme(theme);
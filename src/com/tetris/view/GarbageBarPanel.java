@@ -19,6 +19,7 @@ public class GarbageBarPanel extends JPanel {
     private Board board;
     private Theme currentTheme;
     private boolean isPlayerOne; // Usado para lógica futura (ex: posição)
+    private int shownGarbage = 0; // Lixo exibido no último desenho
 
     public GarbageBarPanel(boolean isPlayerOne) {
         this.isPlayerOne = isPlayerOne;
@@ -36,14 +37,20 @@ public class GarbageBarPanel extends JPanel {
      */
     public void updateBoard(Board board) {
         this.board = board;
+        if (board.getIncomingGarbage() != shownGarbage) {
+            shownGarbage = board.getIncomingGarbage();
+            repaint();
+        }
     }
     
     /**
      * Atualiza o tema visual do painel.
      */
     public void updateTheme(Theme theme) {
-        this.currentTheme = theme;
-        setBackground(theme.uiBackground());
+        if (theme != this.currentTheme) {
+            this.currentTheme = theme;
+            setBackground(theme.uiBackground());
+        }
     }
 
     @Override
@@ -2,7 +2,6 @@ package com.tetris.view;
 
 import com.tetris.model.Board;
 import com.tetris.model.Piece;
-import com.tetris.model.Shape;
 import com.tetris.model.Theme;
 
 import javax.swing.JPanel;
@@ -12,7 +11,7 @@ import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
-import java.awt.FontMetrics; 
+import java.util.Objects;
 
 /**
  * Painel lateral que exibe as informações de um jogador:
@@ -26,13 +25,21 @@ public class InfoPanel extends JPanel {
 
     private Board board; // Referência ao model do tabuleiro
     private Theme currentTheme;
+    private TileAtlas previewTiles; // Blocos da prévia, pré-desenhados no tema atual
     
     private boolean showVictories = false; // Controla a exibição do placar de vitórias
     private String playerName = null; 
     private int currentHighScore = 0; // Armazena o high score vindo do perfil
 
+    // Títulos e valores já convertidos em glifos (ver TextCache)
+    private final TextCache textCache = new TextCache();
+
+    // Valores exibidos no último desenho (ver updateInfo)
+    private final int[] shownValues = new int[8];
+
     public InfoPanel() {
         this.currentTheme = Theme.AVAILABLE_THEMES[0];
+        this.previewTiles = new TileAtlas(currentTheme, SQUARE_PREVIEW_SIZE);
         setPreferredSize(new Dimension(PANEL_WIDTH, 1)); // Largura fixa, altura flexível
         setBackground(currentTheme.uiBackground());
     }
@@ -41,15 +48,42 @@ public class InfoPanel extends JPanel {
      * Atualiza a referência ao tabuleiro (Board) para obter dados de jogo.
      */
     public void updateInfo(Board board) {
+        boolean changed = (board != this.board);
         this.board = board;
+
+        // Só redesenha quando algum valor exibido muda (não a cada quadro)
+        Piece next = board.getNextPiece();
+        changed |= updateShown(0, board.isStarted() ? 1 : 0);
+        changed |= updateShown(1, board.getScore());
+        changed |= updateShown(2, board.getLevel());
+        changed |= updateShown(3, board.getLinesCleared());
+        changed |= updateShown(4, board.getTetrisCount());
+        changed |= updateShown(5, board.getTotalPieces());
+        changed |= updateShown(6, board.getWins());
+        changed |= updateShown(7, (next != null) ? next.getShape().ordinal() : -1);
+        if (changed) {
+            repaint();
+        }
+    }
+
+    private boolean updateShown(int index, int value) {
+        if (shownValues[index] == value) {
+            return false;
+        }
+        shownValues[index] = value;
+        return true;
     }
     
     /**
      * Atualiza o tema visual do painel.
      */
     public void updateTheme(Theme theme) {
-        this.currentTheme = theme;
-        setBackground(theme.uiBackground());
+        if (theme != this.currentTheme) {
+            this.currentTheme = theme;
+            this.previewTiles = new TileAtlas(theme, SQUARE_PREVIEW_SIZE);
+            setBackground(theme.uiBackground());
+            repaint();
+        }
     }
     
     /**
@@ -57,14 +91,20 @@ public class InfoPanel extends JPanel {
      * @param show true para exibir (modo 2P), false para ocultar (modo 1P).
      */
     public void setShowVictories(boolean show) {
-        this.showVictories = show;
+        if (show != this.showVictories) {
+            this.showVictories = show;
+            repaint();
+        }
     }
 
     /**
      * Define o nome do jogador a ser exibido no topo do painel.
      */
     public void setPlayerName(String name) {
-        this.playerName = name;
+        if (!Objects.equals(name, this.playerName)) {
+            this.playerName = name;
+            repaint();
+        }
     }
 
     /**
@@ -73,7 +113,10 @@ public class InfoPanel extends JPanel {
      * @param score O high score do jogador.
      */
     public void setHighScore(int score) {
-        this.currentHighScore = score;
+        if (score != this.currentHighScore) {
+            this.currentHighScore = score;
+            repaint();
+        }
     }
 
     @Override
@@ -95,8 +138,8 @@ public class InfoPanel extends JPanel {
     private void drawGameInfo(Graphics2D g2d) {
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-        // Define a cor do texto com base no brilho do fundo
-        Color textColor = (currentTheme.uiBackground().getRed() < 128) ? Color.WHITE : Color.BLACK;
+        // Cor do texto com base no brilho do fundo (ver UiStyle.Palette)
+        Color textColor = UiStyle.palette(currentTheme).text();
         
         int padding = 20;
         int blockWidth = PANEL_WIDTH - (2 * padding);
@@ -108,11 +151,10 @@ public class InfoPanel extends JPanel {
         // Desenha o nome do jogador (se definido)
         if (playerName != null && !playerName.isEmpty()) {
             g2d.setColor(Color.CYAN); 
-            g2d.setFont(new Font("Consolas", Font.BOLD, 22));
+            g2d.setFont(UiStyle.font(Font.BOLD, 22));
             
-            FontMetrics fm = g2d.getFontMetrics();
-            int nameWidth = fm.stringWidth(playerName);
-            g2d.drawString(playerName, (PANEL_WIDTH - nameWidth) / 2, currentY);
+            int nameWidth = textCache.width(g2d, playerName);
+            textCache.draw(g2d, playerName, (PANEL_WIDTH - nameWidth) / 2, currentY);
             
             currentY += 30; 
         }
@@ -153,8 +195,8 @@ public class InfoPanel extends JPanel {
      * Helper para desenhar um bloco de informação padrão com título e valor.
      */
     private int drawInfoBlock(Graphics2D g, String title, String value, int x, int y, int width, int height, Color textColor) {
-        Color blockColor = currentTheme.uiBackground().darker();
-        Color borderColor = currentTheme.uiBackground().brighter();
+        Color blockColor = UiStyle.palette(currentTheme).blockFill();
+        Color borderColor = UiStyle.palette(currentTheme).blockBorder();
 
         // Fundo
         g.setColor(blockColor);
@@ -166,12 +208,12 @@ public class InfoPanel extends JPanel {
         
         // Texto (Título)
         g.setColor(textColor);
-        g.setFont(new Font("Consolas", Font.PLAIN, 14));
-        g.drawString(title, x + 15, y + 22);
+        g.setFont(UiStyle.font(Font.PLAIN, 14));
+        textCache.draw(g, title, x + 15, y + 22);
         
         // Texto (Valor)
-        g.setFont(new Font("Consolas", Font.BOLD, 22));
-        g.drawString(value, x + 15, y + 48);
+        g.setFont(UiStyle.font(Font.BOLD, 22));
+        textCache.draw(g, value, x + 15, y + 48);
 
         return y + height;
     }
@@ -180,8 +222,8 @@ public class InfoPanel extends JPanel {
      * Helper para desenhar o bloco que contém a prévia da próxima peça.
      */
     private int drawNextPiecePanel(Graphics2D g, String title, int x, int y, int width, int height, Color textColor) {
-        Color blockColor = currentTheme.uiBackground().darker();
-        Color borderColor = currentTheme.uiBackground().brighter();
+        Color blockColor = UiStyle.palette(currentTheme).blockFill();
+        Color borderColor = UiStyle.palette(currentTheme).blockBorder();
 
         // Fundo e Borda
         g.setColor(blockColor);
@@ -191,8 +233,8 @@ public class InfoPanel extends JPanel {
 
         // Título
         g.setColor(textColor);
-        g.setFont(new Font("Consolas", Font.PLAIN, 14));
-        g.drawString(title, x + 15, y + 22);
+        g.setFont(UiStyle.font(Font.PLAIN, 14));
+        textCache.draw(g, title, x + 15, y + 22);
         
         // Desenha a peça
         Piece nextPiece = board.getNextPiece();
@@ -202,7 +244,7 @@ public class InfoPanel extends JPanel {
             for (int i = 0; i < 4; i++) {
                 int px = previewX + (nextPiece.x(i) + 1) * SQUARE_PREVIEW_SIZE;
                 int py = previewY + (1 - nextPiece.y(i)) * SQUARE_PREVIEW_SIZE;
-                drawSquare(g, px, py, nextPiece.getShape(), SQUARE_PREVIEW_SIZE);
+                previewTiles.drawTile(g, px, py, nextPiece.getShape(), false);
             }
         }
         return y + height;
@@ -212,8 +254,8 @@ public class InfoPanel extends JPanel {
      * Helper para desenhar o bloco de dica de controle no rodapé.
      */
     private void drawControlHintBlock(Graphics2D g, String text, int x, int y, int width, int height, Color textColor) {
-        Color blockColor = currentTheme.uiBackground().darker();
-        Color borderColor = currentTheme.uiBackground().brighter();
+        Color blockColor = UiStyle.palette(currentTheme).blockFill();
+        Color borderColor = UiStyle.palette(currentTheme).blockBorder();
 
         g.setColor(blockColor);
         g.fillRoundRect(x, y, width, height, 15, 15);
@@ -221,30 +263,11 @@ public class InfoPanel extends JPanel {
         g.drawRoundRect(x, y, width, height, 15, 15);
 
         g.setColor(textColor);
-        g.setFont(new Font("Consolas", Font.BOLD, 18));
+        g.setFont(UiStyle.font(Font.BOLD, 18));
         
         // Centraliza o texto
-        int stringWidth = g.getFontMetrics().stringWidth(text);
-        g.drawString(text, x + (width - stringWidth) / 2, y + (height / 2) + 7);
+        int stringWidth = textCache.width(g, text);
+        textCache.draw(g, text, x + (width - stringWidth) / 2, y + (height / 2) + 7);
     }
 
-    /**
-     * Helper para desenhar um único quadrado de peça (usado na prévia).
-     */
-    private void drawSquare(Graphics g, int x, int y, Shape.Tetrominoe shape, int size) {
-        Color[] colors = currentTheme.pieceColors();
-        Color color = colors[shape.ordinal()];
-
-        g.setColor(color);
-        g.fillRect(x + 1, y + 1, size - 2, size - 2);
-
-        // Destaques 3D
-        g.setColor(color.brighter());
-        g.drawLine(x, y + size - 1, x, y);
-        g.drawLine(x, y, x + size - 1, y);
-
-        g.setColor(color.darker());
-        g.drawLine(x + 1, y + size - 1, x + size - 1, y + size - 1);
-        g.drawLine(x + size - 1, y + size - 1, x + size - 1, y + 1);
-    }
 }
\ No newline at end of file
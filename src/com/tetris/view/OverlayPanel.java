@@ -7,8 +7,10 @@ import com.tetris.model.Theme;
 import com.tetris.database.SoloScoreEntry;
 import com.tetris.database.PlayerWinsEntry; 
 import com.tetris.database.PlayerProfile;
+import com.tetris.database.ProfilePage;
 
 import java.util.List; 
+import java.util.Objects;
 import java.text.SimpleDateFormat; 
 import javax.swing.JPanel;
 import java.awt.Color;
@@ -25,6 +27,12 @@ import java.awt.RenderingHints;
  */
 public class OverlayPanel extends JPanel {
 
+    /** Meio período (ms) do cursor ">" piscante dos menus. */
+    public static final int CURSOR_BLINK_MILLIS = 400;
+
+    /** Perfis visíveis de uma vez na tela de seleção (o controller busca só esses). */
+    public static final int PROFILE_LIST_ROWS = 5;
+
     // Referências de estado (Model e Controller)
     private Board board1;
     private Board board2;
@@ -41,16 +49,30 @@ public class OverlayPanel extends JPanel {
     private int profileListSelection; 
     private String playerNameInput = "";
     private String profileErrorMessage = null; // Mensagem de erro para telas de perfil
+    private String statusMessage = null; // Situação da inicialização (banco, áudio) no menu principal
 
     // Referências de dados (para rankings e perfis)
     private List<SoloScoreEntry> topSoloScores;
     private List<PlayerWinsEntry> top2PWins; 
-    private List<PlayerProfile> allProfiles; 
+    private ProfilePage profilePage; // Só a janela visível da lista
+    private String profileFilter = "";
     private PlayerProfile currentUser = null;  // P1
     private PlayerProfile currentUser2 = null; // P2
     
     private SimpleDateFormat dateFormat = new SimpleDateFormat("dd/MM/yyyy");
 
+    // Textos já convertidos em glifos e medidos (ver TextCache)
+    private final TextCache textCache = new TextCache();
+
+    // Linhas dos rankings já formatadas (refeitas só quando a lista muda)
+    private List<SoloScoreEntry> formattedSoloScores;
+    private String[][] soloScoreRows;
+    private List<PlayerWinsEntry> formattedWins;
+    private String[][] winsRows;
+
+    // Se o último desenho mostrou alguma tela (ver isShowingScreen)
+    private boolean screenShown = false;
+
 
     public OverlayPanel() {
         setOpaque(false); // Essencial para ser um overlay transparente
@@ -60,7 +82,10 @@ public class OverlayPanel extends JPanel {
      * Atualiza o tema visual a ser usado.
      */
     public void updateTheme(Theme theme) {
-        this.currentTheme = theme;
+        if (theme != this.currentTheme) {
+            this.currentTheme = theme;
+            repaint();
+        }
     }
 
     /**
@@ -73,7 +98,7 @@ public class OverlayPanel extends JPanel {
                                 int gameOverSelection, int pauseSelection, int rankingModeSelection,
                                 int profileListSelection, 
                                 List<SoloScoreEntry> topSoloScores, List<PlayerWinsEntry> top2PWins,
-                                List<PlayerProfile> allProfiles, 
+                                ProfilePage profilePage, String profileFilter,
                                 String playerNameInput, String profileErrorMessage,
                                 PlayerProfile currentUser, PlayerProfile currentUser2) { 
         this.board1 = board1;
@@ -88,11 +113,60 @@ public class OverlayPanel extends JPanel {
         this.profileListSelection = profileListSelection; 
         this.topSoloScores = topSoloScores;     
         this.top2PWins = top2PWins;           
-        this.allProfiles = allProfiles;           
+        this.profilePage = profilePage;
+        this.profileFilter = profileFilter;
         this.playerNameInput = playerNameInput; 
         this.profileErrorMessage = profileErrorMessage; 
         this.currentUser = currentUser;       
         this.currentUser2 = currentUser2;     
+
+        // Durante o jogo o painel é transparente e não precisa ser redesenhado;
+        // nos menus/pausa/game over ele cobre a janela inteira
+        boolean showing = isShowingScreen();
+        if (showing || screenShown) {
+            repaint();
+        }
+        screenShown = showing;
+    }
+
+    /**
+     * Define o texto de situação mostrado no menu principal (ex: "Conectando
+     * ao banco de dados..."), ou null para nenhum.
+     */
+    public void setStatusMessage(String message) {
+        if (!Objects.equals(message, statusMessage)) {
+            statusMessage = message;
+            repaint();
+        }
+    }
+
+    /**
+     * true se a tela tem o cursor piscante (e precisa ser redesenhada a cada
+     * CURSOR_BLINK_MILLIS mesmo sem nenhuma outra mudança).
+     */
+    public static boolean hasBlinkingCursor(GameScreen screen) {
+        return screen == GameScreen.MAIN_MENU
+            || screen == GameScreen.MODE_SELECT
+            || screen == GameScreen.PROFILE_SELECTION
+            || screen == GameScreen.PROFILE_SELECTION_P2
+            || screen == GameScreen.PROFILE_CREATE
+            || screen == GameScreen.RANKING_MODE_SELECT;
+    }
+
+    /**
+     * true se o painel desenha alguma tela (menus, pausa ou game over);
+     * false durante o jogo, quando ele fica totalmente transparente.
+     */
+    private boolean isShowingScreen() {
+        if (board1 == null || board2 == null) {
+            return false;
+        }
+        boolean isGameActive = board1.isStarted() || board2.isStarted();
+        boolean isGameOver = board1.isGameOver() || (currentGameMode == GameController.GameMode.TWO_PLAYER && board2.isGameOver());
+        boolean isPaused = (currentScreen == GameScreen.PAUSED_MAIN ||
+                            currentScreen == GameScreen.PAUSED_CONTROLS ||
+                            currentScreen == GameScreen.PAUSED_RULES);
+        return !isGameActive || isGameOver || isPaused;
     }
     
     /**
@@ -127,13 +201,13 @@ public class OverlayPanel extends JPanel {
             // Jogo está rodando
             if (isGameOver) {
                 // Desenha overlay de Game Over
-                g.setColor(new Color(0, 0, 0, 200)); // Fundo escuro semi-transparente
+                g.setColor(UiStyle.GAME_OVER_SHADE); // Fundo escuro semi-transparente
                 g.fillRect(0, 0, getWidth(), getHeight());
                 drawGameOver(g2d); 
             
             } else if (isPaused) {
                 // Desenha overlay de Pausa
-                g.setColor(new Color(0, 0, 0, 180)); 
+                g.setColor(UiStyle.PAUSE_SHADE); 
                 g.fillRect(0, 0, getWidth(), getHeight());
                 
                 if (currentScreen == GameScreen.PAUSED_MAIN) {
@@ -151,7 +225,7 @@ public class OverlayPanel extends JPanel {
             g.setColor(currentTheme.uiBackground()); 
             g.fillRect(0, 0, getWidth(), getHeight());
             
-            g.setColor(new Color(0, 0, 0, 200)); // Overlay escuro para destacar o menu
+            g.setColor(UiStyle.MENU_SHADE); // Overlay escuro para destacar o menu
             g.fillRect(0, 0, getWidth(), getHeight());
 
             if (currentScreen == null) return; 
@@ -201,9 +275,9 @@ public class OverlayPanel extends JPanel {
      * Helper para desenhar o "card" de fundo dos menus.
      */
     private void drawMenuCard(Graphics2D g, int x, int y, int width, int height) {
-        g.setColor(new Color(20, 20, 30, 220)); // Fundo do card (escuro, semi-transparente)
+        g.setColor(UiStyle.MENU_CARD); // Fundo do card (escuro, semi-transparente)
         g.fillRoundRect(x, y, width, height, 25, 25);
-        g.setColor(currentTheme.grid().brighter()); // Borda do card
+        g.setColor(UiStyle.palette(currentTheme).cardBorder()); // Borda do card
         g.drawRoundRect(x, y, width, height, 25, 25);
     }
     
@@ -211,7 +285,7 @@ public class OverlayPanel extends JPanel {
      * Helper para desenhar o título principal dos menus (ex: "TETRIS", "RANKING").
      */
     private void drawMenuTitle(Graphics2D g, String title) {
-        g.setFont(new Font("Consolas", Font.BOLD, 72));
+        g.setFont(UiStyle.font(Font.BOLD, 72));
         g.setColor(Color.WHITE);
         drawCenteredString(g, title, getWidth() / 2, 120);
         
@@ -223,7 +297,7 @@ public class OverlayPanel extends JPanel {
      * Helper para desenhar o texto de dica no rodapé das telas de menu.
      */
     private void drawFooterHint(Graphics2D g, String text) {
-        g.setFont(new Font("Consolas", Font.PLAIN, 16));
+        g.setFont(UiStyle.font(Font.PLAIN, 16));
         g.setColor(Color.GRAY);
         drawCenteredString(g, text, getWidth() / 2, getHeight() - 60);
     }
@@ -234,7 +308,7 @@ public class OverlayPanel extends JPanel {
     private void drawErrorMessage(Graphics2D g, int card_y, int card_height) {
         if (profileErrorMessage != null && !profileErrorMessage.isEmpty()) {
             g.setColor(Color.RED);
-            g.setFont(new Font("Consolas", Font.BOLD, 18));
+            g.setFont(UiStyle.font(Font.BOLD, 18));
             // Posiciona a mensagem perto da base do card
             drawCenteredString(g, profileErrorMessage, getWidth() / 2, card_y + card_height - 35);
         }
@@ -254,11 +328,11 @@ public class OverlayPanel extends JPanel {
         
         drawMenuCard(g, x, y, cardWidth, cardHeight);
         
-        g.setFont(new Font("Consolas", Font.PLAIN, 28));
+        g.setFont(UiStyle.font(Font.PLAIN, 28));
         int y_menu = y + 60;
         
         String[] options = {"Jogar", "Ranking", "Regras", "Controles", "Sair"}; 
-        boolean cursorVisible = (System.currentTimeMillis() / 400) % 2 == 0;
+        boolean cursorVisible = (System.currentTimeMillis() / CURSOR_BLINK_MILLIS) % 2 == 0;
         String selector = cursorVisible ? ">" : " ";
         
         // Desenha as opções do menu, destacando a selecionada
@@ -274,6 +348,13 @@ public class OverlayPanel extends JPanel {
         }
         
         drawFooterHint(g, "(Use ↑↓ para selecionar, ENTER para confirmar)");
+
+        // Situação da inicialização em segundo plano (banco, música)
+        if (statusMessage != null) {
+            g.setFont(UiStyle.font(Font.PLAIN, 14));
+            g.setColor(Color.GRAY);
+            drawCenteredString(g, statusMessage, getWidth() / 2, getHeight() - 30);
+        }
     }
     
     /**
@@ -288,33 +369,59 @@ public class OverlayPanel extends JPanel {
         drawMenuCard(g, x, y, cardWidth, cardHeight);
         
         g.setColor(Color.CYAN);
-        g.setFont(new Font("Consolas", Font.BOLD, 36));
+        g.setFont(UiStyle.font(Font.BOLD, 36));
         
         String title = (playerNum == 1) ? "JOGADOR 1" : "JOGADOR 2";
         drawCenteredString(g, title, getWidth() / 2, y + 70); 
 
         // Se for P2, mostra quem está logado como P1
         if (playerNum == 2 && currentUser != null) {
-            g.setFont(new Font("Consolas", Font.PLAIN, 14));
+            g.setFont(UiStyle.font(Font.PLAIN, 14));
             g.setColor(Color.LIGHT_GRAY);
             drawCenteredString(g, "P1: " + currentUser.getUsername(), getWidth() / 2, y + 95);
         }
 
         g.setColor(Color.WHITE);
-        g.setFont(new Font("Consolas", Font.PLAIN, 18));
+        g.setFont(UiStyle.font(Font.PLAIN, 18));
         drawCenteredString(g, "Selecione um perfil ou crie um novo:", getWidth() / 2, y + 140); 
         
-        g.setFont(new Font("Consolas", Font.PLAIN, 24));
-        int y_list = y + 190;
-        int list_x = getWidth() / 2;
-        
-        boolean cursorVisible = (System.currentTimeMillis() / 400) % 2 == 0;
+        boolean cursorVisible = (System.currentTimeMillis() / CURSOR_BLINK_MILLIS) % 2 == 0;
         String selector = cursorVisible ? ">" : " ";
 
-        // Desenha a lista de perfis carregados
-        if (allProfiles != null) {
-            for (int i = 0; i < allProfiles.size(); i++) {
-                PlayerProfile profile = allProfiles.get(i);
+        // Filtro digitado e quantos perfis ele encontra
+        g.setFont(UiStyle.font(Font.PLAIN, 16));
+        g.setColor(profileFilter.isEmpty() ? Color.GRAY : Color.CYAN);
+        String search = "Buscar: " + profileFilter + (cursorVisible ? "_" : " ");
+        if (profilePage != null) {
+            search += "  (" + profilePage.totalMatches() + ")";
+        }
+        drawCenteredString(g, search, getWidth() / 2, y + 170);
+
+        g.setFont(UiStyle.font(Font.PLAIN, 24));
+        int y_list = y + 210;
+        int list_x = getWidth() / 2;
+        int totalMatches = (profilePage != null) ? profilePage.totalMatches() : 0;
+
+        // Desenha só a janela visível da lista (ou o aviso enquanto o banco responde)
+        if (profilePage == null) {
+            g.setColor(Color.GRAY);
+            drawCenteredString(g, "Carregando perfis...", list_x, y_list);
+            y_list += 35;
+        } else {
+            List<PlayerProfile> visible = profilePage.profiles();
+            int first = profilePage.offset();
+
+            // Setas indicando que há mais perfis acima/abaixo da janela
+            g.setColor(Color.GRAY);
+            if (first > 0) {
+                drawCenteredString(g, "▲", x + cardWidth - 40, y_list);
+            }
+            if (first + visible.size() < totalMatches) {
+                drawCenteredString(g, "▼", x + cardWidth - 40, y_list + 35 * (PROFILE_LIST_ROWS - 1));
+            }
+
+            for (int i = 0; i < visible.size(); i++) {
+                PlayerProfile profile = visible.get(i);
                 String name = profile.getUsername();
                 
                 // Se for P2, "desabilita" (em cinza) o perfil já selecionado pelo P1
@@ -323,7 +430,7 @@ public class OverlayPanel extends JPanel {
                     drawCenteredString(g, name, list_x, y_list);
                 } else {
                     // Destaca o perfil selecionado
-                    if (i == profileListSelection) {
+                    if (first + i == profileListSelection) {
                         g.setColor(Color.YELLOW);
                         drawCenteredString(g, selector + " " + name, list_x, y_list);
                     } else {
@@ -336,8 +443,7 @@ public class OverlayPanel extends JPanel {
         }
 
         // Desenha a opção [CRIAR NOVO USUÁRIO]
-        int createOptionIndex = (allProfiles != null) ? allProfiles.size() : 0;
-        if (profileListSelection == createOptionIndex) {
+        if (profileListSelection == totalMatches) {
             g.setColor(Color.GREEN); 
             drawCenteredString(g, selector + " [CRIAR NOVO USUÁRIO]", list_x, y_list);
         } else {
@@ -346,7 +452,7 @@ public class OverlayPanel extends JPanel {
         }
         
         drawErrorMessage(g, y, cardHeight);
-        drawFooterHint(g, "(Use ↑↓ para selecionar, ENTER para confirmar, ESC para voltar)");
+        drawFooterHint(g, "(Digite para buscar, ↑↓ para selecionar, ENTER para confirmar, ESC para voltar)");
     }
 
     /**
@@ -361,20 +467,20 @@ public class OverlayPanel extends JPanel {
         drawMenuCard(g, x, y, cardWidth, cardHeight);
         
         g.setColor(Color.CYAN);
-        g.setFont(new Font("Consolas", Font.BOLD, 36));
+        g.setFont(UiStyle.font(Font.BOLD, 36));
         
         String title = (currentUser == null) ? "CRIAR PERFIL (P1)" : "CRIAR PERFIL (P2)";
         drawCenteredString(g, title, getWidth() / 2, y + 70); 
 
         g.setColor(Color.WHITE);
-        g.setFont(new Font("Consolas", Font.PLAIN, 18));
+        g.setFont(UiStyle.font(Font.PLAIN, 18));
         drawCenteredString(g, "Digite um novo nome de usuário:", getWidth() / 2, y + 130); 
         
-        g.setFont(new Font("Consolas", Font.BOLD, 28));
+        g.setFont(UiStyle.font(Font.BOLD, 28));
         g.setColor(Color.WHITE);
         
         // Simula um cursor piscando
-        boolean cursorVisible = (System.currentTimeMillis() / 400) % 2 == 0;
+        boolean cursorVisible = (System.currentTimeMillis() / CURSOR_BLINK_MILLIS) % 2 == 0;
         String nameStr = playerNameInput + (cursorVisible ? "_" : "");
         
         drawCenteredString(g, nameStr, getWidth() / 2, y + 210);
@@ -397,11 +503,11 @@ public class OverlayPanel extends JPanel {
         
         drawMenuCard(g, x, y, cardWidth, cardHeight);
         
-        g.setFont(new Font("Consolas", Font.PLAIN, 28));
+        g.setFont(UiStyle.font(Font.PLAIN, 28));
         int y_menu = y + 50;
 
         String[] options = {"1 Jogador", "2 Jogadores"};
-        boolean cursorVisible = (System.currentTimeMillis() / 400) % 2 == 0;
+        boolean cursorVisible = (System.currentTimeMillis() / CURSOR_BLINK_MILLIS) % 2 == 0;
         String selector = cursorVisible ? ">" : " ";
         
         for (int i = 0; i < options.length; i++) {
@@ -431,11 +537,11 @@ public class OverlayPanel extends JPanel {
         
         drawMenuCard(g, x, y, cardWidth, cardHeight);
         
-        g.setFont(new Font("Consolas", Font.PLAIN, 28));
+        g.setFont(UiStyle.font(Font.PLAIN, 28));
         int y_menu = y + 50;
 
         String[] options = {"Ranking 1P (Pontuação)", "Ranking 2P (Vitórias)"};
-        boolean cursorVisible = (System.currentTimeMillis() / 400) % 2 == 0;
+        boolean cursorVisible = (System.currentTimeMillis() / CURSOR_BLINK_MILLIS) % 2 == 0;
         String selector = cursorVisible ? ">" : " ";
         
         for (int i = 0; i < options.length; i++) {
@@ -465,54 +571,51 @@ public class OverlayPanel extends JPanel {
         drawMenuCard(g, x, y, cardWidth, cardHeight);
         
         g.setColor(Color.CYAN);
-        g.setFont(new Font("Consolas", Font.BOLD, 32));
+        g.setFont(UiStyle.font(Font.BOLD, 32));
         drawCenteredString(g, "RANKING 1P (MELHOR SCORE)", getWidth() / 2, y + 50);
 
         // Cabeçalho da tabela
         g.setColor(Color.YELLOW);
-        g.setFont(new Font("Consolas", Font.BOLD, 16));
+        g.setFont(UiStyle.font(Font.BOLD, 16));
         int y_list = y + 100;
         int x_padding = 40;
         
-        g.drawString("POS", x + x_padding, y_list);
-        g.drawString("NOME", x + x_padding + 50, y_list);
-        g.drawString("PONTUAÇÃO", x + x_padding + 210, y_list);
-        g.drawString("NÍVEL", x + x_padding + 330, y_list); 
-        g.drawString("LINHAS", x + x_padding + 400, y_list); 
-        g.drawString("DATA", x + x_padding + 510, y_list); 
+        textCache.draw(g, "POS", x + x_padding, y_list);
+        textCache.draw(g, "NOME", x + x_padding + 50, y_list);
+        textCache.draw(g, "PONTUAÇÃO", x + x_padding + 210, y_list);
+        textCache.draw(g, "NÍVEL", x + x_padding + 330, y_list); 
+        textCache.draw(g, "LINHAS", x + x_padding + 400, y_list); 
+        textCache.draw(g, "DATA", x + x_padding + 510, y_list); 
         
         g.setColor(Color.GRAY);
         g.drawLine(x + 20, y_list + 10, x + cardWidth - 20, y_list + 10);
         
         y_list += 35; 
         g.setColor(Color.WHITE);
-        g.setFont(new Font("Consolas", Font.PLAIN, 16));
+        g.setFont(UiStyle.font(Font.PLAIN, 16));
 
         // Desenha as entradas do ranking
-        if (topSoloScores == null || topSoloScores.isEmpty()) {
+        if (topSoloScores == null) {
+            drawCenteredString(g, "Carregando...", getWidth() / 2, y + 250);
+
+        } else if (topSoloScores.isEmpty()) {
             drawCenteredString(g, "Nenhuma pontuação registrada.", getWidth() / 2, y + 250);
         
         } else {
             int pos = 1;
-            for (SoloScoreEntry entry : topSoloScores) {
-                String posStr = String.format("%2d.", pos);
-                String scoreStr = String.format("%,d", entry.score()); 
-                String levelStr = String.format("%02d", entry.level());     
-                String linesStr = String.format("%03d", entry.linesCleared()); 
-                String dateStr = dateFormat.format(entry.date());
-
+            for (String[] row : getSoloScoreRows()) {
                 // Colore as 3 primeiras posições
                 if (pos == 1) g.setColor(Color.YELLOW);
                 else if (pos == 2) g.setColor(Color.LIGHT_GRAY);
-                else if (pos == 3) g.setColor(new Color(205, 127, 50)); // Bronze
+                else if (pos == 3) g.setColor(UiStyle.BRONZE); // Bronze
                 else g.setColor(Color.WHITE);
                 
-                g.drawString(posStr, x + x_padding, y_list);
-                g.drawString(entry.username(), x + x_padding + 50, y_list);
-                g.drawString(scoreStr, x + x_padding + 210, y_list);
-                g.drawString(levelStr, x + x_padding + 330, y_list); 
-                g.drawString(linesStr, x + x_padding + 400, y_list); 
-                g.drawString(dateStr, x + x_padding + 510, y_list); 
+                textCache.draw(g, row[0], x + x_padding, y_list);
+                textCache.draw(g, row[1], x + x_padding + 50, y_list);
+                textCache.draw(g, row[2], x + x_padding + 210, y_list);
+                textCache.draw(g, row[3], x + x_padding + 330, y_list); 
+                textCache.draw(g, row[4], x + x_padding + 400, y_list); 
+                textCache.draw(g, row[5], x + x_padding + 510, y_list); 
                 
                 y_list += 28; 
                 pos++;
@@ -521,6 +624,50 @@ public class OverlayPanel extends JPanel {
 
         drawFooterHint(g, "(Pressione ENTER ou ESC para Voltar)");
     }
+
+    /**
+     * Colunas (posição, nome, pontuação, nível, linhas, data) do ranking 1P,
+     * formatadas uma vez por lista recebida.
+     */
+    private String[][] getSoloScoreRows() {
+        if (formattedSoloScores != topSoloScores) {
+            soloScoreRows = new String[topSoloScores.size()][];
+            int pos = 1;
+            for (SoloScoreEntry entry : topSoloScores) {
+                soloScoreRows[pos - 1] = new String[] {
+                    String.format("%2d.", pos),
+                    entry.username(),
+                    String.format("%,d", entry.score()),
+                    String.format("%02d", entry.level()),
+                    String.format("%03d", entry.linesCleared()),
+                    dateFormat.format(entry.date())
+                };
+                pos++;
+            }
+            formattedSoloScores = topSoloScores;
+        }
+        return soloScoreRows;
+    }
+
+    /**
+     * Colunas (posição, nome, vitórias) do ranking 2P, formatadas uma vez por lista recebida.
+     */
+    private String[][] getWinsRows() {
+        if (formattedWins != top2PWins) {
+            winsRows = new String[top2PWins.size()][];
+            int pos = 1;
+            for (PlayerWinsEntry entry : top2PWins) {
+                winsRows[pos - 1] = new String[] {
+                    String.format("%2d.", pos),
+                    entry.username(),
+                    String.format("%,d", entry.wins())
+                };
+                pos++;
+            }
+            formattedWins = top2PWins;
+        }
+        return winsRows;
+    }
     
     /**
      * Desenha a tela de Ranking 2P (Vitórias).
@@ -534,43 +681,44 @@ public class OverlayPanel extends JPanel {
         drawMenuCard(g, x, y, cardWidth, cardHeight);
         
         g.setColor(Color.CYAN);
-        g.setFont(new Font("Consolas", Font.BOLD, 32));
+        g.setFont(UiStyle.font(Font.BOLD, 32));
         drawCenteredString(g, "RANKING 2P (VITÓRIAS)", getWidth() / 2, y + 50);
 
         // Cabeçalho da tabela
         g.setColor(Color.YELLOW);
-        g.setFont(new Font("Consolas", Font.BOLD, 16));
+        g.setFont(UiStyle.font(Font.BOLD, 16));
         int y_list = y + 100;
         int x_padding = 40;
-        g.drawString("POS", x + x_padding, y_list);
-        g.drawString("NOME", x + x_padding + 70, y_list);
-        g.drawString("VITÓRIAS", x + x_padding + 280, y_list);
+        textCache.draw(g, "POS", x + x_padding, y_list);
+        textCache.draw(g, "NOME", x + x_padding + 70, y_list);
+        textCache.draw(g, "VITÓRIAS", x + x_padding + 280, y_list);
         
         g.setColor(Color.GRAY);
         g.drawLine(x + 20, y_list + 10, x + cardWidth - 20, y_list + 10);
         
         y_list += 35; 
         g.setColor(Color.WHITE);
-        g.setFont(new Font("Consolas", Font.PLAIN, 16));
+        g.setFont(UiStyle.font(Font.PLAIN, 16));
 
         // Desenha as entradas do ranking
-        if (top2PWins == null || top2PWins.isEmpty()) {
+        if (top2PWins == null) {
+            drawCenteredString(g, "Carregando...", getWidth() / 2, y + 250);
+
+        } else if (top2PWins.isEmpty()) {
             drawCenteredString(g, "Nenhuma vitória registrada.", getWidth() / 2, y + 250);
         
         } else {
             int pos = 1;
-            for (PlayerWinsEntry entry : top2PWins) {
-                String posStr = String.format("%2d.", pos);
-                String winsStr = String.format("%,d", entry.wins()); 
+            for (String[] row : getWinsRows()) {
 
                 if (pos == 1) g.setColor(Color.YELLOW);
                 else if (pos == 2) g.setColor(Color.LIGHT_GRAY);
-                else if (pos == 3) g.setColor(new Color(205, 127, 50)); // Bronze
+                else if (pos == 3) g.setColor(UiStyle.BRONZE); // Bronze
                 else g.setColor(Color.WHITE);
                 
-                g.drawString(posStr, x + x_padding, y_list);
-                g.drawString(entry.username(), x + x_padding + 70, y_list);
-                g.drawString(winsStr, x + x_padding + 280, y_list);
+                textCache.draw(g, row[0], x + x_padding, y_list);
+                textCache.draw(g, row[1], x + x_padding + 70, y_list);
+                textCache.draw(g, row[2], x + x_padding + 280, y_list);
                 
                 y_list += 28; 
                 pos++;
@@ -592,7 +740,7 @@ public class OverlayPanel extends JPanel {
         drawMenuCard(g, x, y, cardWidth, cardHeight);
         
         g.setColor(Color.CYAN);
-        g.setFont(new Font("Consolas", Font.BOLD, 32));
+        g.setFont(UiStyle.font(Font.BOLD, 32));
         drawCenteredString(g, "REGRAS E PONTUAÇÃO", getWidth() / 2, y + 50);
 
         int y_col = y + 120;
@@ -601,24 +749,24 @@ public class OverlayPanel extends JPanel {
 
         // Coluna 1: Pontuação e Nível
         g.setColor(Color.YELLOW);
-        g.setFont(new Font("Consolas", Font.BOLD, 22));
-        g.drawString("PONTUAÇÃO", x_col1, y_col);
+        g.setFont(UiStyle.font(Font.BOLD, 22));
+        textCache.draw(g, "PONTUAÇÃO", x_col1, y_col);
         g.setColor(Color.WHITE);
-        g.setFont(new Font("Consolas", Font.PLAIN, 18));
+        g.setFont(UiStyle.font(Font.PLAIN, 18));
         y_col += 40; 
-        g.drawString("Pontos = Valor Base * Nível", x_col1, y_col);
+        textCache.draw(g, "Pontos = Valor Base * Nível", x_col1, y_col);
         g.setColor(Color.CYAN);
-        y_col += 40; g.drawString("1 Linha   :  40 pts", x_col1, y_col);
-        y_col += 30; g.drawString("2 Linhas  : 100 pts", x_col1, y_col);
-        y_col += 30; g.drawString("3 Linhas  : 300 pts", x_col1, y_col);
+        y_col += 40; textCache.draw(g, "1 Linha   :  40 pts", x_col1, y_col);
+        y_col += 30; textCache.draw(g, "2 Linhas  : 100 pts", x_col1, y_col);
+        y_col += 30; textCache.draw(g, "3 Linhas  : 300 pts", x_col1, y_col);
         g.setColor(Color.ORANGE);
-        y_col += 30; g.drawString("TETRIS (4): 1200 pts", x_col1, y_col);
+        y_col += 30; textCache.draw(g, "TETRIS (4): 1200 pts", x_col1, y_col);
         y_col += 50; 
         g.setColor(Color.YELLOW);
-        g.setFont(new Font("Consolas", Font.BOLD, 22));
-        g.drawString("NÍVEL", x_col1, y_col);
+        g.setFont(UiStyle.font(Font.BOLD, 22));
+        textCache.draw(g, "NÍVEL", x_col1, y_col);
         g.setColor(Color.WHITE);
-        g.setFont(new Font("Consolas", Font.PLAIN, 16));
+        g.setFont(UiStyle.font(Font.PLAIN, 16));
         y_col += 30;
         String textNivel = "Você avança de nível a cada\n" +
                            "10 linhas limpas. Um nível\n" +
@@ -629,10 +777,10 @@ public class OverlayPanel extends JPanel {
         // Coluna 2: Lixo (Modo 2P)
         y_col = y + 120; 
         g.setColor(Color.YELLOW);
-        g.setFont(new Font("Consolas", Font.BOLD, 22));
-        g.drawString("LIXO (Modo 2P)", x_col2, y_col);
+        g.setFont(UiStyle.font(Font.BOLD, 22));
+        textCache.draw(g, "LIXO (Modo 2P)", x_col2, y_col);
         g.setColor(Color.WHITE);
-        g.setFont(new Font("Consolas", Font.PLAIN, 16));
+        g.setFont(UiStyle.font(Font.PLAIN, 16));
         y_col += 40;
         String textLixo = "No modo 2P, limpar linhas envia\n" +
                           "'Lixo' (linhas cinzas) para o \n" +
@@ -641,10 +789,10 @@ public class OverlayPanel extends JPanel {
                           "as peças dele para cima.";
         y_col = drawMultiLineString(g, textLixo, x_col2, y_col);
         g.setColor(Color.LIGHT_GRAY);
-        g.setFont(new Font("Consolas", Font.PLAIN, 18));
-        y_col += 30; g.drawString("2 Linhas  -> Envia 1 Linha", x_col2, y_col);
-        y_col += 30; g.drawString("3 Linhas  -> Envia 2 Linhas", x_col2, y_col);
-        y_col += 30; g.drawString("TETRIS    -> Envia 4 Linhas", x_col2, y_col);
+        g.setFont(UiStyle.font(Font.PLAIN, 18));
+        y_col += 30; textCache.draw(g, "2 Linhas  -> Envia 1 Linha", x_col2, y_col);
+        y_col += 30; textCache.draw(g, "3 Linhas  -> Envia 2 Linhas", x_col2, y_col);
+        y_col += 30; textCache.draw(g, "TETRIS    -> Envia 4 Linhas", x_col2, y_col);
 
         drawFooterHint(g, "(Pressione ENTER ou ESC para Voltar)");
     }
@@ -661,7 +809,7 @@ public class OverlayPanel extends JPanel {
         drawMenuCard(g, x, y, cardWidth, cardHeight);
         
         g.setColor(Color.CYAN);
-        g.setFont(new Font("Consolas", Font.BOLD, 32));
+        g.setFont(UiStyle.font(Font.BOLD, 32));
         drawCenteredString(g, "CONTROLES", getWidth() / 2, y + 50);
 
         int y_start = y + 120;
@@ -671,28 +819,28 @@ public class OverlayPanel extends JPanel {
 
         // Coluna 1: Controles 1P
         g.setColor(Color.YELLOW);
-        g.setFont(new Font("Consolas", Font.BOLD, 18));
+        g.setFont(UiStyle.font(Font.BOLD, 18));
         y_col = y_start;
-        g.drawString("MODO 1 JOGADOR", x_p1, y_col);
+        textCache.draw(g, "MODO 1 JOGADOR", x_p1, y_col);
         drawControls1P(g, x_p1, y_col + 30);
         
         // Coluna 2: Controles 2P
         g.setColor(Color.YELLOW);
-        g.setFont(new Font("Consolas", Font.BOLD, 18));
+        g.setFont(UiStyle.font(Font.BOLD, 18));
         y_col = y_start;
-        g.drawString("MODO 2 JOGADORES", x_p2, y_col);
+        textCache.draw(g, "MODO 2 JOGADORES", x_p2, y_col);
         drawControls2P(g, x_p2, y_col + 30);
         
         // Controles Globais
         g.setColor(Color.YELLOW);
-        g.setFont(new Font("Consolas", Font.BOLD, 18));
+        g.setFont(UiStyle.font(Font.BOLD, 18));
         y_col = y_start + 230; 
-        g.drawString("CONTROLES GLOBAIS", x_p1, y_col);
+        textCache.draw(g, "CONTROLES GLOBAIS", x_p1, y_col);
         g.setColor(Color.WHITE);
-        g.setFont(new Font("Consolas", Font.PLAIN, 14));
-        y_col += 30; g.drawString("P   Pausar Jogo", x_p1, y_col);
-        y_col += 20; g.drawString("T   Mudar Tema Visual", x_p1, y_col); 
-        y_col += 20; g.drawString("G   Ativar/Desativar Prévia", x_p1, y_col);
+        g.setFont(UiStyle.font(Font.PLAIN, 14));
+        y_col += 30; textCache.draw(g, "P   Pausar Jogo", x_p1, y_col);
+        y_col += 20; textCache.draw(g, "T   Mudar Tema Visual", x_p1, y_col); 
+        y_col += 20; textCache.draw(g, "G   Ativar/Desativar Prévia", x_p1, y_col);
         
         drawFooterHint(g, "(Pressione ENTER ou ESC para Voltar)");
     }
@@ -713,7 +861,7 @@ public class OverlayPanel extends JPanel {
         int p2_x_center = getWidth() / 2 + 110;
         
         if (currentGameMode == GameController.GameMode.ONE_PLAYER) {
-            g.setFont(new Font("Consolas", Font.BOLD, 36));
+            g.setFont(UiStyle.font(Font.BOLD, 36));
             g.setColor(Color.RED);
             drawCenteredString(g, "GAME OVER", getWidth() / 2, y_center); 
         } else {
@@ -722,28 +870,28 @@ public class OverlayPanel extends JPanel {
             String p2_name = (currentUser2 != null) ? currentUser2.getUsername() : "P2";
 
             if (board1.isGameOver() && board2.isGameOver()) {
-                g.setFont(new Font("Consolas", Font.BOLD, 36));
+                g.setFont(UiStyle.font(Font.BOLD, 36));
                 g.setColor(Color.WHITE);
                 drawCenteredString(g, "EMPATE", getWidth() / 2, y_center);
             } else if (board1.isGameOver()) {
-                g.setFont(new Font("Consolas", Font.BOLD, 28));
+                g.setFont(UiStyle.font(Font.BOLD, 28));
                 g.setColor(Color.RED);
                 drawCenteredString(g, p1_name + " PERDEU", p1_x_center, y_center);
-                g.setFont(new Font("Consolas", Font.BOLD, 28));
+                g.setFont(UiStyle.font(Font.BOLD, 28));
                 g.setColor(Color.GREEN);
                 drawCenteredString(g, p2_name + " VENCEU!", p2_x_center, y_center);
             } else if (board2.isGameOver()) {
-                g.setFont(new Font("Consolas", Font.BOLD, 28));
+                g.setFont(UiStyle.font(Font.BOLD, 28));
                 g.setColor(Color.GREEN);
                 drawCenteredString(g, p1_name + " VENCEU!", p1_x_center, y_center);
-                g.setFont(new Font("Consolas", Font.BOLD, 28));
+                g.setFont(UiStyle.font(Font.BOLD, 28));
                 g.setColor(Color.RED);
                 drawCenteredString(g, p2_name + " PERDEU", p2_x_center, y_center);
             }
         }
         
         // Opções (Reiniciar / Menu)
-        g.setFont(new Font("Consolas", Font.PLAIN, 24));
+        g.setFont(UiStyle.font(Font.PLAIN, 24));
         int y_menu = y_center + 80;
         
         String[] options = {"Reiniciar", "Voltar ao Menu"};
@@ -772,10 +920,10 @@ public class OverlayPanel extends JPanel {
         drawMenuCard(g, x, y, cardWidth, cardHeight);
 
         g.setColor(Color.WHITE);
-        g.setFont(new Font("Consolas", Font.BOLD, 36));
+        g.setFont(UiStyle.font(Font.BOLD, 36));
         drawCenteredString(g, "PAUSADO", getWidth() / 2, y + 60);
 
-        g.setFont(new Font("Consolas", Font.PLAIN, 24));
+        g.setFont(UiStyle.font(Font.PLAIN, 24));
         int y_menu = y + 110;
         
         String[] options = {"Voltar ao Jogo", "Controles", "Regras", "Sair para o Menu"};
@@ -804,7 +952,7 @@ public class OverlayPanel extends JPanel {
         drawMenuCard(g, x, y, cardWidth, cardHeight);
         
         g.setColor(Color.CYAN);
-        g.setFont(new Font("Consolas", Font.BOLD, 32));
+        g.setFont(UiStyle.font(Font.BOLD, 32));
         drawCenteredString(g, "REGRAS", getWidth() / 2, y + 50);
 
         int y_col = y + 100;
@@ -812,26 +960,26 @@ public class OverlayPanel extends JPanel {
 
         // Pontuação
         g.setColor(Color.YELLOW);
-        g.setFont(new Font("Consolas", Font.BOLD, 22));
-        g.drawString("PONTUAÇÃO", x_col, y_col);
+        g.setFont(UiStyle.font(Font.BOLD, 22));
+        textCache.draw(g, "PONTUAÇÃO", x_col, y_col);
         g.setColor(Color.WHITE);
-        g.setFont(new Font("Consolas", Font.PLAIN, 18));
+        g.setFont(UiStyle.font(Font.PLAIN, 18));
         y_col += 40; 
-        g.drawString("Pontos = Valor Base * Nível", x_col, y_col);
+        textCache.draw(g, "Pontos = Valor Base * Nível", x_col, y_col);
         g.setColor(Color.CYAN);
-        y_col += 40; g.drawString("1 Linha   :  40 pts", x_col, y_col);
-        y_col += 30; g.drawString("2 Linhas  : 100 pts", x_col, y_col);
-        y_col += 30; g.drawString("3 Linhas  : 300 pts", x_col, y_col);
+        y_col += 40; textCache.draw(g, "1 Linha   :  40 pts", x_col, y_col);
+        y_col += 30; textCache.draw(g, "2 Linhas  : 100 pts", x_col, y_col);
+        y_col += 30; textCache.draw(g, "3 Linhas  : 300 pts", x_col, y_col);
         g.setColor(Color.ORANGE);
-        y_col += 30; g.drawString("TETRIS (4): 1200 pts", x_col, y_col);
+        y_col += 30; textCache.draw(g, "TETRIS (4): 1200 pts", x_col, y_col);
         
         // Nível
         y_col += 40; 
         g.setColor(Color.YELLOW);
-        g.setFont(new Font("Consolas", Font.BOLD, 22));
-        g.drawString("NÍVEL", x_col, y_col);
+        g.setFont(UiStyle.font(Font.BOLD, 22));
+        textCache.draw(g, "NÍVEL", x_col, y_col);
         g.setColor(Color.WHITE);
-        g.setFont(new Font("Consolas", Font.PLAIN, 16));
+        g.setFont(UiStyle.font(Font.PLAIN, 16));
         y_col += 30;
         String textNivel = "A cada 10 linhas limpas,\n" +
                            "você avança de nível.";
@@ -841,13 +989,13 @@ public class OverlayPanel extends JPanel {
         if (currentGameMode == GameController.GameMode.TWO_PLAYER) {
             y_col += 40;
             g.setColor(Color.YELLOW);
-            g.setFont(new Font("Consolas", Font.BOLD, 22));
-            g.drawString("LIXO (Modo 2P)", x_col, y_col);
+            g.setFont(UiStyle.font(Font.BOLD, 22));
+            textCache.draw(g, "LIXO (Modo 2P)", x_col, y_col);
             g.setColor(Color.LIGHT_GRAY);
-            g.setFont(new Font("Consolas", Font.PLAIN, 18));
-            y_col += 30; g.drawString("2 Linhas  -> Envia 1 Linha", x_col, y_col);
-            y_col += 30; g.drawString("3 Linhas  -> Envia 2 Linhas", x_col, y_col);
-            y_col += 30; g.drawString("TETRIS    -> Envia 4 Linhas", x_col, y_col);
+            g.setFont(UiStyle.font(Font.PLAIN, 18));
+            y_col += 30; textCache.draw(g, "2 Linhas  -> Envia 1 Linha", x_col, y_col);
+            y_col += 30; textCache.draw(g, "3 Linhas  -> Envia 2 Linhas", x_col, y_col);
+            y_col += 30; textCache.draw(g, "TETRIS    -> Envia 4 Linhas", x_col, y_col);
         }
 
         drawFooterHint(g, "(Pressione ENTER ou ESC para Voltar)");
@@ -865,7 +1013,7 @@ public class OverlayPanel extends JPanel {
         drawMenuCard(g, x, y, cardWidth, cardHeight);
         
         g.setColor(Color.CYAN);
-        g.setFont(new Font("Consolas", Font.BOLD, 32));
+        g.setFont(UiStyle.font(Font.BOLD, 32));
         drawCenteredString(g, "CONTROLES", getWidth() / 2, y + 50);
 
         int y_start = y + 100;
@@ -874,8 +1022,8 @@ public class OverlayPanel extends JPanel {
         // Mostra apenas os controles do modo de jogo atual
         if (currentGameMode == GameController.GameMode.ONE_PLAYER) {
             g.setColor(Color.YELLOW);
-            g.setFont(new Font("Consolas", Font.BOLD, 18));
-            g.drawString("MODO 1 JOGADOR", x_col, y_start);
+            g.setFont(UiStyle.font(Font.BOLD, 18));
+            textCache.draw(g, "MODO 1 JOGADOR", x_col, y_start);
             drawControls1P(g, x_col, y_start + 30);
         } else {
             x_col = getWidth() / 2 - 160;
@@ -890,63 +1038,61 @@ public class OverlayPanel extends JPanel {
     /**
      * Helper para desenhar a lista de controles do 1P.
      */
-    private int drawControls1P(Graphics g, int x, int y) {
+    private int drawControls1P(Graphics2D g, int x, int y) {
         g.setColor(Color.WHITE);
-        g.setFont(new Font("Consolas", Font.PLAIN, 14));
-        g.drawString("←   Mover Esquerda", x, y); y += 20;
-        g.drawString("→   Mover Direita", x, y); y += 20;
-        g.drawString("↑   Girar (Horário)", x, y); y += 20;
-        g.drawString("Z   Girar (Anti-horário)", x, y); y += 20;
-        g.drawString("↓   Acelerar Queda", x, y); y += 20;
-        g.drawString("Espaço   Cair Imediatamente", x, y);
+        g.setFont(UiStyle.font(Font.PLAIN, 14));
+        textCache.draw(g, "←   Mover Esquerda", x, y); y += 20;
+        textCache.draw(g, "→   Mover Direita", x, y); y += 20;
+        textCache.draw(g, "↑   Girar (Horário)", x, y); y += 20;
+        textCache.draw(g, "Z   Girar (Anti-horário)", x, y); y += 20;
+        textCache.draw(g, "↓   Acelerar Queda", x, y); y += 20;
+        textCache.draw(g, "Espaço   Cair Imediatamente", x, y);
         return y;
     }
     
     /**
      * Helper para desenhar a lista de controles do 2P.
      */
-    private int drawControls2P(Graphics g, int x, int y) {
+    private int drawControls2P(Graphics2D g, int x, int y) {
         g.setColor(Color.CYAN);
-        g.setFont(new Font("Consolas", Font.BOLD, 16));
-        g.drawString("JOGADOR 1 (Esquerda)", x, y);
+        g.setFont(UiStyle.font(Font.BOLD, 16));
+        textCache.draw(g, "JOGADOR 1 (Esquerda)", x, y);
         g.setColor(Color.WHITE);
-        g.setFont(new Font("Consolas", Font.PLAIN, 14));
-        y += 25; g.drawString("A / D   Esquerda / Direita", x, y);
-        y += 20; g.drawString("W / Q   Girar Hor / Anti-hor", x, y);
-        y += 20; g.drawString("S       Acelerar Queda", x, y);
-        y += 20; g.drawString("Espaço  Cair Imediatamente", x, y);
+        g.setFont(UiStyle.font(Font.PLAIN, 14));
+        y += 25; textCache.draw(g, "A / D   Esquerda / Direita", x, y);
+        y += 20; textCache.draw(g, "W / Q   Girar Hor / Anti-hor", x, y);
+        y += 20; textCache.draw(g, "S       Acelerar Queda", x, y);
+        y += 20; textCache.draw(g, "Espaço  Cair Imediatamente", x, y);
 
         y += 35;
         g.setColor(Color.CYAN);
-        g.setFont(new Font("Consolas", Font.BOLD, 16));
-        g.drawString("JOGADOR 2 (Direita)", x, y);
+        g.setFont(UiStyle.font(Font.BOLD, 16));
+        textCache.draw(g, "JOGADOR 2 (Direita)", x, y);
         g.setColor(Color.WHITE);
-        g.setFont(new Font("Consolas", Font.PLAIN, 14));
-        y += 25; g.drawString("← / →   Esquerda / Direita", x, y);
-        y += 20; g.drawString("↑ / M   Girar Hor / Anti-hor", x, y);
-        y += 20; g.drawString("↓       Acelerar Queda", x, y);
-        y += 20; g.drawString("N       Cair Imediatamente", x, y);
+        g.setFont(UiStyle.font(Font.PLAIN, 14));
+        y += 25; textCache.draw(g, "← / →   Esquerda / Direita", x, y);
+        y += 20; textCache.draw(g, "↑ / M   Girar Hor / Anti-hor", x, y);
+        y += 20; textCache.draw(g, "↓       Acelerar Queda", x, y);
+        y += 20; textCache.draw(g, "N       Cair Imediatamente", x, y);
         return y;
     }
     
     /**
      * Helper para desenhar texto centralizado horizontalmente.
      */
-    private void drawCenteredString(Graphics g, String text, int x_center, int y) {
-        FontMetrics metrics = g.getFontMetrics(g.getFont());
-        int x = x_center - (metrics.stringWidth(text) / 2);
-        g.drawString(text, x, y);
+    private void drawCenteredString(Graphics2D g, String text, int x_center, int y) {
+        textCache.drawCentered(g, text, x_center, y);
     }
     
     /**
      * Helper para desenhar blocos de texto com quebra de linha (definida por '\n').
      * @return A próxima posição Y (abaixo do texto).
      */
-    private int drawMultiLineString(Graphics g, String text, int x, int y) {
+    private int drawMultiLineString(Graphics2D g, String text, int x, int y) {
         FontMetrics metrics = g.getFontMetrics(g.getFont());
         int lineHeight = metrics.getHeight();
         for (String line : text.split("\n")) {
-            g.drawString(line, x, y);
+            textCache.draw(g, line, x, y);
             y += lineHeight; // Move para a próxima linha
         }
         return y;
@@ -0,0 +1,69 @@
+package com.tetris.view;
+
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache de textos já convertidos em glifos (GlyphVector), com a largura já
+ * medida. Os menus desenham quase sempre os mesmos textos: em vez de
+ * converter e medir cada string a cada quadro, isso é feito uma vez por
+ * combinação de texto, fonte e contexto de renderização.
+ *
+ * O cache é limitado (os mais antigos são descartados), então textos que
+ * mudam (pontuações, nomes digitados) não o fazem crescer sem limite.
+ */
+final class TextCache {
+
+    private static final int MAX_ENTRIES = 512;
+
+    private record Key(String text, Font font, FontRenderContext frc) {}
+
+    private record Entry(GlyphVector glyphs, int width) {}
+
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * Desenha o texto com a fonte atual de 'g', com a linha de base em 'y'
+     * (como Graphics.drawString).
+     */
+    void draw(Graphics2D g, String text, int x, int y) {
+        g.drawGlyphVector(get(g, text).glyphs(), x, y);
+    }
+
+    /**
+     * Desenha o texto centralizado horizontalmente em 'xCenter'.
+     */
+    void drawCentered(Graphics2D g, String text, int xCenter, int y) {
+        Entry entry = get(g, text);
+        g.drawGlyphVector(entry.glyphs(), xCenter - entry.width() / 2, y);
+    }
+
+    /**
+     * Largura do texto com a fonte atual de 'g' (como FontMetrics.stringWidth).
+     */
+    int width(Graphics2D g, String text) {
+        return get(g, text).width();
+    }
+
+    private Entry get(Graphics2D g, String text) {
+        Font font = g.getFont();
+        FontRenderContext frc = g.getFontRenderContext();
+        Key key = new Key(text, font, frc);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            GlyphVector glyphs = font.createGlyphVector(frc, text);
+            entry = new Entry(glyphs, g.getFontMetrics(font).stringWidth(text));
+            entries.put(key, entry);
+        }
+        return entry;
+    }
+}
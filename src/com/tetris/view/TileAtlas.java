@@ -0,0 +1,87 @@
+package com.tetris.view;
+
+import com.tetris.model.Shape;
+import com.tetris.model.Theme;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+/**
+ * Blocos das peças pré-desenhados em uma única imagem ("atlas") para um tema
+ * e um tamanho de quadrado: uma linha com o bloco sólido de cada tipo de peça
+ * e outra com o contorno da peça fantasma.
+ *
+ * Desenhar um bloco vira um único drawImage() de um trecho da imagem, sem
+ * criar cores (brighter/darker) nem fazer várias chamadas de desenho por
+ * célula. A imagem é compatível com a tela, então o Java2D pode mantê-la em
+ * memória de vídeo e copiá-la por hardware.
+ *
+ * O atlas é imutável: quem o usa cria um novo quando o tema muda.
+ */
+public final class TileAtlas {
+
+    private static final int SHAPE_COUNT = Shape.Tetrominoe.values().length;
+
+    private final Theme theme;
+    private final int size;
+    private final BufferedImage image;
+
+    public TileAtlas(Theme theme, int size) {
+        this.theme = theme;
+        this.size = size;
+        // Transparência só de "máscara": o interior do bloco fantasma é transparente
+        this.image = CompatibleImages.create(SHAPE_COUNT * size, 2 * size, Transparency.BITMASK);
+
+        Graphics2D g = image.createGraphics();
+        try {
+            Color[] colors = theme.pieceColors();
+            for (Shape.Tetrominoe shape : Shape.Tetrominoe.values()) {
+                Color color = colors[shape.ordinal()];
+                drawSolid(g, shape.ordinal() * size, 0, size, color);
+                drawGhost(g, shape.ordinal() * size, size, size, color);
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /**
+     * Bloco sólido com destaques 3D (claro em cima/esquerda, escuro em baixo/direita).
+     */
+    private static void drawSolid(Graphics g, int x, int y, int size, Color color) {
+        g.setColor(color);
+        g.fillRect(x + 1, y + 1, size - 2, size - 2);
+
+        g.setColor(color.brighter());
+        g.drawLine(x, y + size - 1, x, y);
+        g.drawLine(x, y, x + size - 1, y);
+
+        g.setColor(color.darker());
+        g.drawLine(x + 1, y + size - 1, x + size - 1, y + size - 1);
+        g.drawLine(x + size - 1, y + size - 1, x + size - 1, y + 1);
+    }
+
+    /**
+     * Apenas o contorno (peça fantasma).
+     */
+    private static void drawGhost(Graphics g, int x, int y, int size, Color color) {
+        g.setColor(color.darker());
+        g.drawRect(x + 1, y + 1, size - 2, size - 2);
+    }
+
+    /**
+     * Desenha o bloco de uma peça com o canto superior esquerdo em (x, y).
+     * @param isGhost Se true, desenha apenas o contorno (peça fantasma).
+     */
+    public void drawTile(Graphics g, int x, int y, Shape.Tetrominoe shape, boolean isGhost) {
+        int sx = shape.ordinal() * size;
+        int sy = isGhost ? size : 0;
+        g.drawImage(image, x, y, x + size, y + size, sx, sy, sx + size, sy + size, null);
+    }
+
+    public Theme getTheme() { return theme; }
+    public int getSize() { return size; }
+}
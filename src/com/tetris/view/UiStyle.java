@@ -0,0 +1,62 @@
+package com.tetris.view;
+
+import com.tetris.model.Theme;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro das fontes e cores fixas da interface (menus e painéis), para
+ * que o desenho não crie um novo Font / Color a cada quadro.
+ * As cores que dependem do tema ficam em {@link Palette}, calculada uma vez
+ * por tema.
+ */
+final class UiStyle {
+
+    private static final String FONT_FAMILY = "Consolas";
+
+    // --- Cores Fixas ---
+    static final Color GAME_OVER_SHADE = new Color(0, 0, 0, 200); // Fundo escuro do Game Over
+    static final Color PAUSE_SHADE = new Color(0, 0, 0, 180);     // Fundo escuro da Pausa
+    static final Color MENU_SHADE = new Color(0, 0, 0, 200);      // Escurece o fundo dos menus
+    static final Color MENU_CARD = new Color(20, 20, 30, 220);    // Fundo dos "cards" de menu
+    static final Color BRONZE = new Color(205, 127, 50);          // 3º lugar nos rankings
+
+    // Chave: estilo * 1000 + tamanho
+    private static final Map<Integer, Font> FONTS = new ConcurrentHashMap<>();
+    private static final Map<Theme, Palette> PALETTES = new ConcurrentHashMap<>();
+
+    private UiStyle() {}
+
+    /**
+     * Fonte da interface no estilo (Font.PLAIN, Font.BOLD...) e tamanho pedidos.
+     * Cada combinação é criada uma única vez.
+     */
+    static Font font(int style, int size) {
+        return FONTS.computeIfAbsent(style * 1000 + size, key -> new Font(FONT_FAMILY, style, size));
+    }
+
+    /**
+     * Cores derivadas de um tema, calculadas uma vez por tema.
+     */
+    static Palette palette(Theme theme) {
+        return PALETTES.computeIfAbsent(theme, Palette::new);
+    }
+
+    /**
+     * Cores da interface que dependem do tema.
+     */
+    record Palette(Color text, Color blockFill, Color blockBorder, Color cardBorder) {
+        Palette(Theme theme) {
+            this(
+                // Cor do texto com base no brilho do fundo
+                (theme.uiBackground().getRed() < 128) ? Color.WHITE : Color.BLACK,
+                theme.uiBackground().darker(),
+                theme.uiBackground().brighter(),
+                theme.grid().brighter()
+            );
+        }
+    }
+}